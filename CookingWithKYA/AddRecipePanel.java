@@ -3,6 +3,7 @@ import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.*;
 import java.awt.*;
 import java.io.File;
+import java.util.List;
 
 public class AddRecipePanel extends JPanel {
     private RecipeManager manager;
@@ -13,12 +14,10 @@ public class AddRecipePanel extends JPanel {
     private JTextArea notesArea;
     private DefaultTableModel ingredientModel;
     private JTable ingredientTable;
-    private Runnable refreshCallback;
     private Runnable switchToAllRecipesCallback;
 
-    public AddRecipePanel(RecipeManager manager, Runnable refreshCallback, Runnable switchToAllRecipesCallback) {
+    public AddRecipePanel(RecipeManager manager, Runnable switchToAllRecipesCallback) {
         this.manager = manager;
-        this.refreshCallback = refreshCallback;
         this.switchToAllRecipesCallback = switchToAllRecipesCallback;
         initializeUI();
     }
@@ -121,7 +120,7 @@ public class AddRecipePanel extends JPanel {
                 ingredientModel.addRow(new Object[] {
                         nameField.getText(),
                         qtyField.getText(),
-                        Double.parseDouble(priceField.getText())
+                        Money.formatPlain(Money.parse(priceField.getText()))
                 });
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this, "Invalid price format!");
@@ -159,18 +158,24 @@ public class AddRecipePanel extends JPanel {
         recipe.setInstructions(instructionsArea.getText());
         recipe.setPersonalNotes(notesArea.getText());
 
-        for (int i = 0; i < ingredientModel.getRowCount(); i++) {
-            String name = (String) ingredientModel.getValueAt(i, 0);
-            String qty = (String) ingredientModel.getValueAt(i, 1);
-            double price = (Double) ingredientModel.getValueAt(i, 2);
-            recipe.addIngredient(new Ingredient(name, qty, price));
+        // Prices are kept as text in the table, so an edited cell is parsed the same way as a new row
+        try {
+            for (int i = 0; i < ingredientModel.getRowCount(); i++) {
+                String name = (String) ingredientModel.getValueAt(i, 0);
+                String qty = (String) ingredientModel.getValueAt(i, 1);
+                long price = Money.parse(String.valueOf(ingredientModel.getValueAt(i, 2)));
+                recipe.addIngredient(Ingredient.ofCentavos(name, qty, price));
+            }
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid price format!");
+            return;
         }
 
+        List<String> repriced = manager.findMarketPriceChanges(recipe);
         manager.addRecipe(recipe);
-        JOptionPane.showMessageDialog(this, "Recipe saved successfully!");
+        JOptionPane.showMessageDialog(this, "Recipe saved successfully!" + EditRecipeDialog.marketPriceNote(repriced));
 
         clearForm();
-        refreshCallback.run();
         switchToAllRecipesCallback.run();
     }
 
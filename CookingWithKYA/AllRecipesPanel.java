@@ -2,16 +2,24 @@ import javax.swing.*;
 import java.awt.*;
 
 public class AllRecipesPanel extends JPanel {
+    private static final String[] SORT_OPTIONS = {"Date Added", "Title (A-Z)", "Cost (Low to High)",
+            "Cost (High to Low)", "Servings (Most First)"};
+    private static final SortedRecipeIndex.SortKey[] SORT_KEYS = {null, SortedRecipeIndex.SortKey.TITLE,
+            SortedRecipeIndex.SortKey.COST, SortedRecipeIndex.SortKey.COST, SortedRecipeIndex.SortKey.SERVINGS};
+    private static final boolean[] SORT_DESCENDING = {false, false, false, true, true};
+
     private RecipeManager manager;
-    private JPanel cardsContainer;
+    private RecipeGrid recipeGrid;
     private JTextArea detailsArea;
+    private ViewportImagePrefetcher imagePrefetcher;
+    private FacetFilterPanel facetPanel;
+    private JComboBox<String> sortBox;
     private Recipe selectedRecipe;
-    private Runnable refreshCallback;
 
-    public AllRecipesPanel(RecipeManager manager, Runnable refreshCallback) {
+    public AllRecipesPanel(RecipeManager manager) {
         this.manager = manager;
-        this.refreshCallback = refreshCallback;
         initializeUI();
+        manager.addRecipeChangeListener(this::recipesChanged);
     }
 
     private void initializeUI() {
@@ -21,21 +29,32 @@ public class AllRecipesPanel extends JPanel {
         JLabel headerLabel = new JLabel("Available Recipes");
         headerLabel.setFont(new Font("Segoe UI", Font.BOLD, 20));
 
-        // Recipe cards container
-        cardsContainer = new JPanel();
-        cardsContainer.setLayout(new GridLayout(0, 2, 15, 15));
-        cardsContainer.setBackground(Color.WHITE);
+        // Recipe cards grid
+        recipeGrid = new RecipeGrid();
+        recipeGrid.setSelectionListener(recipe -> {
+            selectedRecipe = recipe;
+            showDetails(recipe);
+        });
 
         detailsArea = new JTextArea();
         detailsArea.setEditable(false);
         detailsArea.setFont(new Font("Segoe UI", Font.PLAIN, 13));
         detailsArea.setMargin(new Insets(10, 10, 10, 10));
 
-        loadRecipes();
-
-        JScrollPane cardsScroll = new JScrollPane(cardsContainer);
+        JScrollPane cardsScroll = new JScrollPane(recipeGrid);
         cardsScroll.setPreferredSize(new Dimension(500, 0));
         cardsScroll.getVerticalScrollBar().setUnitIncrement(16);
+        imagePrefetcher = new ViewportImagePrefetcher(cardsScroll, recipeGrid);
+        facetPanel = new FacetFilterPanel(manager, this::loadRecipes);
+        sortBox = new JComboBox<>(SORT_OPTIONS);
+        sortBox.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        sortBox.addActionListener(e -> loadRecipes());
+        loadRecipes();
+
+        JScrollPane facetScroll = new JScrollPane(facetPanel);
+        facetScroll.setBorder(BorderFactory.createEmptyBorder());
+        facetScroll.setPreferredSize(new Dimension(210, 0));
+        facetScroll.getVerticalScrollBar().setUnitIncrement(16);
 
         JButton editButton = createStyledButton("Edit Recipe");
         editButton.addActionListener(e -> editSelectedRecipe());
@@ -44,6 +63,10 @@ public class AllRecipesPanel extends JPanel {
         deleteButton.addActionListener(e -> deleteSelectedRecipe());
 
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JLabel sortLabel = new JLabel("Sort by:");
+        sortLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        buttonPanel.add(sortLabel);
+        buttonPanel.add(sortBox);
         buttonPanel.add(editButton);
         buttonPanel.add(deleteButton);
 
@@ -56,30 +79,52 @@ public class AllRecipesPanel extends JPanel {
         splitPane.setDividerLocation(500);
 
         add(topPanel, BorderLayout.NORTH);
+        add(facetScroll, BorderLayout.WEST);
         add(splitPane, BorderLayout.CENTER);
     }
 
     private void loadRecipes() {
-        cardsContainer.removeAll();
-        for (Recipe recipe : manager.getAllRecipes()) {
-            RecipeCardPanel card = new RecipeCardPanel(recipe,
-                    () -> {
-                        selectedRecipe = recipe;
-                        detailsArea.setText(recipe.displayRecipe() + "\n\nTotal Cost: ₱" +
-                                String.format("%.2f", recipe.computeTotalCost()));
-                    },
-                    () -> {
-                    });
-            cardsContainer.add(card);
+        int sort = sortBox.getSelectedIndex();
+        if (facetPanel.hasSelection() || SORT_KEYS[sort] != null) {
+            recipeGrid.setRecipes(manager.filterRecipes(facetPanel.getSelection(), SORT_KEYS[sort],
+                    SORT_DESCENDING[sort]));
+        } else {
+            recipeGrid.setRecipes(manager.getAllRecipes());
+        }
+        imagePrefetcher.scheduleUpdate();
+    }
+
+    // Applies just the changed recipes to the grid, so scroll position and selection survive
+    private void recipesChanged(RecipeChangeEvent event) {
+        if (facetPanel.hasSelection() || SORT_KEYS[sortBox.getSelectedIndex()] != null) {
+            // An edit can move a recipe in or out of the filtered set, or to another place in the order;
+            // both come straight from the maintained indexes
+            loadRecipes();
+        } else {
+            recipeGrid.removeRecipes(event.getRemoved());
+            recipeGrid.addRecipes(event.getAdded());
+            recipeGrid.recipesChanged(event.getUpdated());
         }
-        cardsContainer.revalidate();
-        cardsContainer.repaint();
+        facetPanel.refreshCounts();
+
+        if (event.getRemoved().contains(selectedRecipe)) {
+            selectedRecipe = null;
+            detailsArea.setText("");
+        } else if (event.getUpdated().contains(selectedRecipe)) {
+            showDetails(selectedRecipe);
+        }
+        imagePrefetcher.scheduleUpdate();
+    }
+
+    private void showDetails(Recipe recipe) {
+        detailsArea.setText(recipe.displayRecipe() + "\n\nTotal Cost: " +
+                Money.format(recipe.computeTotalCostCentavos()));
     }
 
     private void editSelectedRecipe() {
         if (selectedRecipe != null) {
             new EditRecipeDialog((Frame) SwingUtilities.getWindowAncestor(this),
-                    selectedRecipe, manager, refreshCallback).setVisible(true);
+                    selectedRecipe, manager).setVisible(true);
         } else {
             JOptionPane.showMessageDialog(this, "Please select a recipe to edit.");
         }
@@ -94,7 +139,6 @@ public class AllRecipesPanel extends JPanel {
                 manager.deleteRecipe(selectedRecipe);
                 selectedRecipe = null;
                 detailsArea.setText("");
-                refreshCallback.run();
             }
         } else {
             JOptionPane.showMessageDialog(this, "Please select a recipe to delete.");
@@ -1,13 +1,21 @@
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 // Main GUI Application
 public class CookingWithKYA extends JFrame {
     private RecipeManager manager;
     private JTabbedPane tabbedPane;
+    // Tabs that have not been shown yet, by index, with the code that builds them
+    private final Map<Integer, Supplier<JComponent>> pendingTabs = new HashMap<>();
 
     public CookingWithKYA() {
         manager = new RecipeManager();
+        StartupTimer.mark("recipes loaded");
         initializeUI();
     }
 
@@ -29,36 +37,47 @@ public class CookingWithKYA extends JFrame {
         tabbedPane = new JTabbedPane();
         tabbedPane.setFont(new Font("Segoe UI", Font.PLAIN, 14));
 
-        // Create panels
-        AllRecipesPanel allRecipesPanel = new AllRecipesPanel(manager, this::refreshAllRecipesPanel);
-        AddRecipePanel addRecipePanel = new AddRecipePanel(manager,
-                this::refreshAllRecipesPanel,
-                () -> tabbedPane.setSelectedIndex(0));
-        SearchPanel searchPanel = new SearchPanel(manager);
-        CostCalculatorPanel costCalculatorPanel = new CostCalculatorPanel(manager);
-
-        tabbedPane.addTab("All Recipes", allRecipesPanel);
-        tabbedPane.addTab("Add Recipe", addRecipePanel);
-        tabbedPane.addTab("Search", searchPanel);
-        tabbedPane.addTab("Cost Calculator", costCalculatorPanel);
+        // Panels are only built when their tab is first selected
+        addLazyTab("All Recipes", () -> new AllRecipesPanel(manager));
+        addLazyTab("Add Recipe", () -> new AddRecipePanel(manager,
+                () -> tabbedPane.setSelectedIndex(0)));
+        addLazyTab("Search", () -> new SearchPanel(manager));
+        addLazyTab("Cost Calculator", () -> new CostCalculatorPanel(manager));
+        addLazyTab("What Can I Cook?", () -> new PantryPanel(manager));
+        tabbedPane.addChangeListener(e -> buildTab(tabbedPane.getSelectedIndex()));
 
         add(headerPanel, BorderLayout.NORTH);
         add(tabbedPane, BorderLayout.CENTER);
 
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                StartupTimer.mark("first frame shown");
+            }
+        });
         setVisible(true);
+
+        // Show the empty frame first, then fill in the initial tab
+        SwingUtilities.invokeLater(() -> {
+            buildTab(tabbedPane.getSelectedIndex());
+            StartupTimer.mark("initial tab built");
+        });
     }
 
-    private void refreshAllRecipesPanel() {
-        // Refresh the All Recipes panel
-        AllRecipesPanel newPanel = new AllRecipesPanel(manager, this::refreshAllRecipesPanel);
-        tabbedPane.setComponentAt(0, newPanel);
+    private void addLazyTab(String title, Supplier<JComponent> factory) {
+        pendingTabs.put(tabbedPane.getTabCount(), factory);
+        tabbedPane.addTab(title, new JPanel());
+    }
 
-        // Refresh Cost Calculator panel
-        CostCalculatorPanel newCostPanel = new CostCalculatorPanel(manager);
-        tabbedPane.setComponentAt(3, newCostPanel);
+    private void buildTab(int index) {
+        Supplier<JComponent> factory = pendingTabs.remove(index);
+        if (factory != null) {
+            tabbedPane.setComponentAt(index, factory.get());
+        }
     }
 
     public static void main(String[] args) {
+        StartupTimer.mark("main started");
         SwingUtilities.invokeLater(() -> {
             try {
                 UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
@@ -66,6 +85,7 @@ public class CookingWithKYA extends JFrame {
                 e.printStackTrace();
             }
             new CookingWithKYA();
+            ThumbnailStore.getShared().collectGarbageAsync();
         });
     }
 }
\ No newline at end of file
@@ -1,13 +1,19 @@
 import javax.swing.*;
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
 
 public class CostCalculatorPanel extends JPanel {
     private RecipeManager manager;
-    private JComboBox<String> recipeBox;
-    private DefaultListModel<String> allIngredientsModel;
-    private DefaultListModel<String> availableModel;
+    private JComboBox<Recipe> recipeBox;
+    private DefaultListModel<Ingredient> allIngredientsModel;
+    private DefaultListModel<Ingredient> availableModel;
+    // The selected recipe's ingredients that are marked available, by reference
+    private final Set<Ingredient> available = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long remainingCost;
     private JLabel totalValueLabel;
     private JLabel remainingValueLabel;
     private JLabel savedValueLabel;
@@ -15,6 +21,7 @@ public class CostCalculatorPanel extends JPanel {
     public CostCalculatorPanel(RecipeManager manager) {
         this.manager = manager;
         initializeUI();
+        manager.addRecipeChangeListener(this::recipesChanged);
     }
 
     private void initializeUI() {
@@ -28,9 +35,17 @@ public class CostCalculatorPanel extends JPanel {
 
         recipeBox = new JComboBox<>();
         for (Recipe recipe : manager.getAllRecipes()) {
-            recipeBox.addItem(recipe.getTitle());
+            recipeBox.addItem(recipe);
         }
         recipeBox.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        recipeBox.setRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                    boolean isSelected, boolean cellHasFocus) {
+                Object title = value instanceof Recipe ? ((Recipe) value).getTitle() : value;
+                return super.getListCellRendererComponent(list, title, index, isSelected, cellHasFocus);
+            }
+        });
 
         topPanel.add(selectLabel);
         topPanel.add(recipeBox);
@@ -42,16 +57,23 @@ public class CostCalculatorPanel extends JPanel {
         ingredientsPanel.setBorder(BorderFactory.createTitledBorder("All Ingredients"));
 
         allIngredientsModel = new DefaultListModel<>();
-        JList<String> allIngredientsList = new JList<>(allIngredientsModel);
+        JList<Ingredient> allIngredientsList = new JList<>(allIngredientsModel);
         allIngredientsList.setFont(new Font("Segoe UI", Font.PLAIN, 13));
         ingredientsPanel.add(new JScrollPane(allIngredientsList), BorderLayout.CENTER);
 
+        JPanel priceButtonPanel = new JPanel(new FlowLayout());
+        JButton priceButton = createStyledButton("Update Market Price...");
+        JButton summaryButton = createStyledButton("Catalog Summary...");
+        priceButtonPanel.add(priceButton);
+        priceButtonPanel.add(summaryButton);
+        ingredientsPanel.add(priceButtonPanel, BorderLayout.SOUTH);
+
         // Available Ingredients Panel
         JPanel availablePanel = new JPanel(new BorderLayout(5, 5));
         availablePanel.setBorder(BorderFactory.createTitledBorder("Available Ingredients"));
 
         availableModel = new DefaultListModel<>();
-        JList<String> availableList = new JList<>(availableModel);
+        JList<Ingredient> availableList = new JList<>(availableModel);
         availableList.setFont(new Font("Segoe UI", Font.PLAIN, 13));
         availablePanel.add(new JScrollPane(availableList), BorderLayout.CENTER);
 
@@ -96,22 +118,35 @@ public class CostCalculatorPanel extends JPanel {
         recipeBox.addActionListener(e -> loadRecipeIngredients());
 
         addButton.addActionListener(e -> {
-            int index = allIngredientsList.getSelectedIndex();
-            if (index >= 0) {
-                String item = allIngredientsModel.get(index);
-                if (!availableModel.contains(item)) {
-                    availableModel.addElement(item);
-                    updateCosts();
-                }
+            Ingredient ingredient = allIngredientsList.getSelectedValue();
+            if (ingredient != null) {
+                markAvailable(ingredient);
             }
         });
 
         removeButton.addActionListener(e -> {
-            int index = availableList.getSelectedIndex();
-            if (index >= 0) {
-                availableModel.remove(index);
-                updateCosts();
+            Ingredient ingredient = availableList.getSelectedValue();
+            if (ingredient != null) {
+                markUnavailable(ingredient);
+            }
+        });
+
+        priceButton.addActionListener(e -> {
+            Ingredient ingredient = allIngredientsList.getSelectedValue();
+            if (ingredient == null) {
+                ingredient = availableList.getSelectedValue();
+            }
+            if (ingredient != null) {
+                updateMarketPrice(ingredient);
+            }
+        });
+
+        summaryButton.addActionListener(e -> {
+            Ingredient ingredient = allIngredientsList.getSelectedValue();
+            if (ingredient == null) {
+                ingredient = availableList.getSelectedValue();
             }
+            showCatalogSummary(ingredient);
         });
 
         if (recipeBox.getItemCount() > 0) {
@@ -123,45 +158,115 @@ public class CostCalculatorPanel extends JPanel {
         add(costPanel, BorderLayout.SOUTH);
     }
 
+    // Applies just the changed recipes to the recipe list, keeping the current selection
+    private void recipesChanged(RecipeChangeEvent event) {
+        Recipe selected = (Recipe) recipeBox.getSelectedItem();
+        for (Recipe recipe : event.getRemoved()) {
+            recipeBox.removeItem(recipe);
+        }
+        for (Recipe recipe : event.getAdded()) {
+            recipeBox.addItem(recipe);
+        }
+
+        // The selected recipe may have been edited; reload it but keep what was marked available. Saving an
+        // edit replaces the Ingredient objects, so they are matched up again by name
+        if (selected != null && selected == recipeBox.getSelectedItem() && event.getUpdated().contains(selected)) {
+            Set<String> stillAvailable = new HashSet<>();
+            for (Ingredient ing : available) {
+                stillAvailable.add(ing.getName().toLowerCase().trim());
+            }
+            loadRecipeIngredients();
+            for (Ingredient ing : selected.getIngredients()) {
+                if (stillAvailable.contains(ing.getName().toLowerCase().trim())) {
+                    available.add(ing);
+                    availableModel.addElement(ing);
+                }
+            }
+            updateCosts();
+        }
+        if (!event.getUpdated().isEmpty()) {
+            recipeBox.repaint();
+        }
+    }
+
     private void loadRecipeIngredients() {
-        int index = recipeBox.getSelectedIndex();
-        if (index >= 0) {
-            Recipe recipe = manager.getAllRecipes().get(index);
+        Recipe recipe = (Recipe) recipeBox.getSelectedItem();
+        if (recipe != null) {
             allIngredientsModel.clear();
             for (Ingredient ing : recipe.getIngredients()) {
-                allIngredientsModel.addElement(ing.toString());
+                allIngredientsModel.addElement(ing);
             }
+            available.clear();
             availableModel.clear();
             updateCosts();
         }
     }
 
+    // Toggling one ingredient moves its price between remaining and saved without revisiting the others
+    private void markAvailable(Ingredient ingredient) {
+        if (available.add(ingredient)) {
+            availableModel.addElement(ingredient);
+            remainingCost -= ingredient.getPriceCentavos();
+            showCosts();
+        }
+    }
+
+    private void markUnavailable(Ingredient ingredient) {
+        if (available.remove(ingredient)) {
+            availableModel.removeElement(ingredient);
+            remainingCost += ingredient.getPriceCentavos();
+            showCosts();
+        }
+    }
+
     private void updateCosts() {
-        int index = recipeBox.getSelectedIndex();
-        if (index >= 0) {
-            Recipe recipe = manager.getAllRecipes().get(index);
-            double total = recipe.computeTotalCost();
-
-            List<String> available = new ArrayList<>();
-            for (int i = 0; i < availableModel.size(); i++) {
-                String item = availableModel.get(i);
-                // Extract ingredient name from the display string
-                String ingredientName = item.split(" - ")[0];
-                // Remove quantity part (everything before the last space and ingredient name)
-                int lastSpace = ingredientName.lastIndexOf(' ');
-                if (lastSpace > 0) {
-                    ingredientName = ingredientName.substring(lastSpace + 1);
-                }
-                available.add(ingredientName.toLowerCase().trim());
-            }
+        Recipe recipe = (Recipe) recipeBox.getSelectedItem();
+        if (recipe != null) {
+            remainingCost = recipe.computeRemainingCostCentavos(available);
+            showCosts();
+        }
+    }
+
+    private void showCosts() {
+        Recipe recipe = (Recipe) recipeBox.getSelectedItem();
+        if (recipe != null) {
+            long total = recipe.computeTotalCostCentavos();
+            long saved = total - remainingCost;
+
+            totalValueLabel.setText(Money.format(total));
+            remainingValueLabel.setText(Money.format(remainingCost));
+            savedValueLabel.setText(Money.format(saved));
+        }
+    }
 
-            double remaining = recipe.computeRemainingCost(available);
-            double saved = total - remaining;
+    // Sets the ingredient's price in every recipe that uses it; the change event reloads this recipe's costs
+    private void updateMarketPrice(Ingredient ingredient) {
+        String input = JOptionPane.showInputDialog(this, "New price of " + ingredient.getName() +
+                " in every recipe (₱):", Money.formatPlain(ingredient.getPriceCentavos()));
+        if (input == null) {
+            return;
+        }
+        try {
+            int count = manager.setIngredientPrice(ingredient.getName(), Money.parse(input));
+            JOptionPane.showMessageDialog(this, "Updated " + count + " recipe(s).");
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid price format!");
+        }
+    }
 
-            totalValueLabel.setText("₱" + String.format("%.2f", total));
-            remainingValueLabel.setText("₱" + String.format("%.2f", remaining));
-            savedValueLabel.setText("₱" + String.format("%.2f", saved));
+    // Catalog-wide totals, plus what the selected ingredient costs across all recipes
+    private void showCatalogSummary(Ingredient ingredient) {
+        StringBuilder summary = new StringBuilder();
+        summary.append("All recipes: ").append(Money.format(manager.getCatalogCostCentavos())).append("\n\n");
+        summary.append("Average cost per category:\n");
+        for (Map.Entry<String, Long> entry : manager.getAverageCostByCategory().entrySet()) {
+            summary.append("  ").append(entry.getKey()).append(": ").append(Money.format(entry.getValue())).append("\n");
+        }
+        if (ingredient != null) {
+            summary.append("\n").append(ingredient.getName()).append(" across all recipes: ")
+                    .append(Money.format(manager.getCatalogCostOf(ingredient.getName())));
         }
+        JOptionPane.showMessageDialog(this, summary.toString(), "Catalog Summary", JOptionPane.INFORMATION_MESSAGE);
     }
 
     private JButton createStyledButton(String text) {
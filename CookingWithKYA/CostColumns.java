@@ -0,0 +1,207 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+// Cost Columns - every ingredient line in the catalog as parallel primitive arrays, so catalog-wide cost
+// questions are a loop over a few arrays instead of a walk over Recipe and Ingredient objects
+public class CostColumns implements RecipeIndexer {
+    // Rows summed per task when an aggregate runs in parallel
+    private static final int CHUNK_ROWS = 1 << 14;
+
+    private final IngredientDictionary dictionary;
+    private final int parallelThreshold;
+
+    // One row per ingredient line; a recipe's rows are contiguous. A removed recipe leaves holes (recipe ID -1,
+    // price 0, category 0) until the next compaction, so the sums never need to skip anything
+    private int[] recipeIds = new int[1024];
+    private int[] ingredientIds = new int[1024];
+    private int[] categories = new int[1024];
+    private long[] prices = new long[1024];
+    private int rowCount;
+    private int holes;
+
+    // Recipe ID -> { first row, row count, category }
+    private final Map<Integer, int[]> rowsByRecipe = new HashMap<>();
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+    private final List<String> categoryNames = new ArrayList<>();
+    private int[] recipesPerCategory = new int[8];
+
+    public CostColumns(IngredientDictionary dictionary, int parallelThreshold) {
+        this.dictionary = dictionary;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @Override
+    public void add(Recipe recipe) {
+        List<Ingredient> ingredients = recipe.getIngredients();
+        int category = categoryOf(recipe.getCategory());
+        ensureCapacity(rowCount + ingredients.size());
+        int start = rowCount;
+        for (Ingredient ing : ingredients) {
+            recipeIds[rowCount] = recipe.getId();
+            ingredientIds[rowCount] = dictionary.intern(ing.getName());
+            categories[rowCount] = category;
+            prices[rowCount] = ing.getPriceCentavos();
+            rowCount++;
+        }
+        rowsByRecipe.put(recipe.getId(), new int[] { start, ingredients.size(), category });
+        recipesPerCategory[category]++;
+    }
+
+    @Override
+    public void update(Recipe recipe) {
+        remove(recipe);
+        add(recipe);
+    }
+
+    @Override
+    public void remove(Recipe recipe) {
+        int[] rows = rowsByRecipe.remove(recipe.getId());
+        if (rows == null) {
+            return;
+        }
+        for (int row = rows[0]; row < rows[0] + rows[1]; row++) {
+            recipeIds[row] = -1;
+            ingredientIds[row] = -1;
+            categories[row] = 0;
+            prices[row] = 0;
+        }
+        recipesPerCategory[rows[2]]--;
+        holes += rows[1];
+        if (holes > 1024 && holes > rowCount / 2) {
+            compact();
+        }
+    }
+
+    @Override
+    public void pricesChanged(Recipe recipe) {
+        int[] rows = rowsByRecipe.get(recipe.getId());
+        List<Ingredient> ingredients = recipe.getIngredients();
+        if (rows == null || rows[1] != ingredients.size()) {
+            update(recipe);
+            return;
+        }
+        // The list may have been reordered since it was indexed, so the whole row is copied again, IDs included
+        for (int i = 0; i < rows[1]; i++) {
+            ingredientIds[rows[0] + i] = dictionary.intern(ingredients.get(i).getName());
+            prices[rows[0] + i] = ingredients.get(i).getPriceCentavos();
+        }
+    }
+
+    // Sum of every recipe's total cost, in centavos
+    public long totalCostCentavos() {
+        long[] prices = this.prices;
+        int rows = rowCount;
+        return chunks(rows).mapToLong(chunk -> {
+            long sum = 0;
+            for (int i = chunk * CHUNK_ROWS, end = Math.min(rows, i + CHUNK_ROWS); i < end; i++) {
+                sum += prices[i];
+            }
+            return sum;
+        }).sum();
+    }
+
+    // Average recipe cost per category in centavos, rounded, in the order categories were first seen;
+    // recipes without ingredients count as free
+    public Map<String, Long> averageCostByCategory() {
+        long[] prices = this.prices;
+        int[] categories = this.categories;
+        int rows = rowCount;
+        int categoryCount = categoryNames.size();
+        long[] sums = chunks(rows).mapToObj(chunk -> {
+            long[] partial = new long[categoryCount];
+            for (int i = chunk * CHUNK_ROWS, end = Math.min(rows, i + CHUNK_ROWS); i < end; i++) {
+                partial[categories[i]] += prices[i];
+            }
+            return partial;
+        }).reduce(new long[categoryCount], (a, b) -> {
+            long[] merged = new long[categoryCount];
+            for (int c = 0; c < categoryCount; c++) {
+                merged[c] = a[c] + b[c];
+            }
+            return merged;
+        });
+
+        Map<String, Long> averages = new LinkedHashMap<>();
+        for (int c = 0; c < categoryCount; c++) {
+            if (recipesPerCategory[c] > 0) {
+                averages.put(categoryNames.get(c), Math.round((double) sums[c] / recipesPerCategory[c]));
+            }
+        }
+        return averages;
+    }
+
+    // What one ingredient contributes to the catalog total, in centavos
+    public long totalCostOf(int ingredientId) {
+        long sum = 0;
+        for (int i = 0; i < rowCount; i++) {
+            if (ingredientIds[i] == ingredientId) {
+                sum += prices[i];
+            }
+        }
+        return sum;
+    }
+
+    // Live ingredient lines across the catalog
+    public int getRowCount() {
+        return rowCount - holes;
+    }
+
+    private IntStream chunks(int rows) {
+        IntStream chunks = IntStream.range(0, (rows + CHUNK_ROWS - 1) / CHUNK_ROWS);
+        return rows >= parallelThreshold ? chunks.parallel() : chunks;
+    }
+
+    private int categoryOf(String name) {
+        String key = name == null ? "" : name;
+        Integer id = categoryIds.get(key);
+        if (id == null) {
+            id = categoryNames.size();
+            categoryIds.put(key, id);
+            categoryNames.add(key);
+            if (id == recipesPerCategory.length) {
+                recipesPerCategory = Arrays.copyOf(recipesPerCategory, id * 2);
+            }
+        }
+        return id;
+    }
+
+    private void ensureCapacity(int rows) {
+        if (rows <= recipeIds.length) {
+            return;
+        }
+        int capacity = Math.max(rows, recipeIds.length * 2);
+        recipeIds = Arrays.copyOf(recipeIds, capacity);
+        ingredientIds = Arrays.copyOf(ingredientIds, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+    }
+
+    // Slides the live rows down over the holes, keeping their order and each recipe's rows together
+    private void compact() {
+        int write = 0;
+        for (int read = 0; read < rowCount; read++) {
+            if (recipeIds[read] < 0) {
+                continue;
+            }
+            if (read == 0 || recipeIds[read] != recipeIds[read - 1]) {
+                rowsByRecipe.get(recipeIds[read])[0] = write;
+            }
+            recipeIds[write] = recipeIds[read];
+            ingredientIds[write] = ingredientIds[read];
+            categories[write] = categories[read];
+            prices[write] = prices[read];
+            write++;
+        }
+        Arrays.fill(recipeIds, write, rowCount, -1);
+        Arrays.fill(ingredientIds, write, rowCount, -1);
+        Arrays.fill(categories, write, rowCount, 0);
+        Arrays.fill(prices, write, rowCount, 0);
+        rowCount = write;
+        holes = 0;
+    }
+}
\ No newline at end of file
@@ -3,17 +3,17 @@ import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.*;
 import java.awt.*;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 public class EditRecipeDialog extends JDialog {
     private Recipe recipe;
     private RecipeManager manager;
-    private Runnable refreshCallback;
 
-    public EditRecipeDialog(Frame parent, Recipe recipe, RecipeManager manager, Runnable refreshCallback) {
+    public EditRecipeDialog(Frame parent, Recipe recipe, RecipeManager manager) {
         super(parent, "Edit Recipe - " + recipe.getTitle(), true);
         this.recipe = recipe;
         this.manager = manager;
-        this.refreshCallback = refreshCallback;
 
         setSize(800, 700);
         setLocationRelativeTo(parent);
@@ -83,7 +83,7 @@ public class EditRecipeDialog extends JDialog {
             ingredientModel.addRow(new Object[] {
                     ing.getName(),
                     ing.getQuantity(),
-                    ing.getPrice()
+                    Money.formatPlain(ing.getPriceCentavos())
             });
         }
 
@@ -120,7 +120,7 @@ public class EditRecipeDialog extends JDialog {
                     ingredientModel.addRow(new Object[] {
                             nameField.getText(),
                             qtyField.getText(),
-                            Double.parseDouble(priceField.getText())
+                            Money.formatPlain(Money.parse(priceField.getText()))
                     });
                 } catch (NumberFormatException ex) {
                     JOptionPane.showMessageDialog(this, "Invalid price format!");
@@ -149,6 +149,20 @@ public class EditRecipeDialog extends JDialog {
                 return;
             }
 
+            // Prices are kept as text in the table, so an edited cell is parsed the same way as a new row
+            List<Ingredient> ingredients = new ArrayList<>();
+            try {
+                for (int i = 0; i < ingredientModel.getRowCount(); i++) {
+                    String name = (String) ingredientModel.getValueAt(i, 0);
+                    String qty = (String) ingredientModel.getValueAt(i, 1);
+                    long price = Money.parse(String.valueOf(ingredientModel.getValueAt(i, 2)));
+                    ingredients.add(Ingredient.ofCentavos(name, qty, price));
+                }
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(this, "Invalid price format!");
+                return;
+            }
+
             // Update recipe properties
             recipe.setTitle(titleField.getText());
             recipe.setCategory((String) categoryBox.getSelectedItem());
@@ -159,16 +173,15 @@ public class EditRecipeDialog extends JDialog {
 
             // Clear and reload ingredients
             recipe.getIngredients().clear();
-            for (int i = 0; i < ingredientModel.getRowCount(); i++) {
-                String name = (String) ingredientModel.getValueAt(i, 0);
-                String qty = (String) ingredientModel.getValueAt(i, 1);
-                double price = (Double) ingredientModel.getValueAt(i, 2);
-                recipe.addIngredient(new Ingredient(name, qty, price));
+            for (Ingredient ing : ingredients) {
+                recipe.addIngredient(ing);
             }
 
-            JOptionPane.showMessageDialog(this, "Recipe updated successfully!");
+            List<String> repriced = manager.findMarketPriceChanges(recipe);
+            manager.updateRecipe(recipe);
+
+            JOptionPane.showMessageDialog(this, "Recipe updated successfully!" + marketPriceNote(repriced));
             dispose();
-            refreshCallback.run();
         });
 
         cancelButton.addActionListener(e -> dispose());
@@ -186,6 +199,14 @@ public class EditRecipeDialog extends JDialog {
         add(mainPanel);
     }
 
+    // Tells the user a saved recipe changed market prices, since every recipe using them changes too
+    static String marketPriceNote(List<String> repriced) {
+        if (repriced.isEmpty()) {
+            return "";
+        }
+        return "\n\nNew market price for " + String.join(", ", repriced) + " applied to every recipe using it.";
+    }
+
     private JTextField createStyledTextField() {
         JTextField field = new JTextField(20);
         field.setFont(new Font("Segoe UI", Font.PLAIN, 14));
@@ -0,0 +1,124 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Facet Filter Panel - a checkbox per category, cost range, serving size and ingredient, each with a live count
+public class FacetFilterPanel extends JPanel {
+    // Catalogs can use hundreds of ingredients; only the most common ones (and any picked) are listed
+    private static final int MAX_INGREDIENTS = 12;
+
+    private final RecipeManager manager;
+    private final Runnable onChange;
+    private final Map<String, Set<String>> selection = new LinkedHashMap<>();
+    private final Map<String, JPanel> sections = new LinkedHashMap<>();
+
+    public FacetFilterPanel(RecipeManager manager, Runnable onChange) {
+        this.manager = manager;
+        this.onChange = onChange;
+        setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
+        setBorder(BorderFactory.createEmptyBorder(0, 0, 0, 5));
+
+        for (String facet : manager.getFacetNames()) {
+            selection.put(facet, new LinkedHashSet<>());
+            JPanel section = new JPanel();
+            section.setLayout(new BoxLayout(section, BoxLayout.Y_AXIS));
+            section.setBorder(BorderFactory.createTitledBorder(facet));
+            section.setAlignmentX(LEFT_ALIGNMENT);
+            sections.put(facet, section);
+            add(section);
+        }
+
+        JButton clearButton = new JButton("Clear Filters");
+        clearButton.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        clearButton.setFocusPainted(false);
+        clearButton.setAlignmentX(LEFT_ALIGNMENT);
+        clearButton.addActionListener(e -> {
+            for (Set<String> values : selection.values()) {
+                values.clear();
+            }
+            refreshCounts();
+            onChange.run();
+        });
+        add(Box.createVerticalStrut(5));
+        add(clearButton);
+
+        refreshCounts();
+    }
+
+    public Map<String, Set<String>> getSelection() {
+        Map<String, Set<String>> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, Set<String>> entry : selection.entrySet()) {
+            copy.put(entry.getKey(), new LinkedHashSet<>(entry.getValue()));
+        }
+        return copy;
+    }
+
+    public boolean hasSelection() {
+        for (Set<String> values : selection.values()) {
+            if (!values.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Rebuilds the checkboxes from the current counts; call after the catalog or the selection changes
+    public void refreshCounts() {
+        for (Map.Entry<String, JPanel> entry : sections.entrySet()) {
+            String facet = entry.getKey();
+            Set<String> picked = selection.get(facet);
+            Map<String, Integer> counts = manager.countFacet(facet, selection);
+
+            List<String> values = new ArrayList<>(counts.keySet());
+            if (FacetIndex.INGREDIENT.equals(facet)) {
+                values.sort(Comparator.<String>comparingInt(counts::get).reversed()
+                        .thenComparing(value -> manager.getFacetLabel(facet, value)));
+                List<String> shown = new ArrayList<>(values.subList(0, Math.min(MAX_INGREDIENTS, values.size())));
+                for (String value : values) {
+                    if (picked.contains(value) && !shown.contains(value)) {
+                        shown.add(value);
+                    }
+                }
+                values = shown;
+            }
+            // A picked value whose last recipe was deleted stays visible so it can be unticked
+            for (String value : picked) {
+                if (!counts.containsKey(value)) {
+                    values.add(value);
+                }
+            }
+
+            JPanel section = entry.getValue();
+            section.removeAll();
+            for (String value : values) {
+                int count = counts.getOrDefault(value, 0);
+                JCheckBox box = new JCheckBox(manager.getFacetLabel(facet, value) + " (" + count + ")",
+                        picked.contains(value));
+                box.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+                box.setFocusPainted(false);
+                box.setEnabled(count > 0 || picked.contains(value));
+                box.addActionListener(e -> {
+                    if (box.isSelected()) {
+                        picked.add(value);
+                    } else {
+                        picked.remove(value);
+                    }
+                    // Defer the rebuild so the checkbox finishes handling its own click first
+                    SwingUtilities.invokeLater(() -> {
+                        refreshCounts();
+                        onChange.run();
+                    });
+                });
+                section.add(box);
+            }
+            section.revalidate();
+            section.repaint();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,191 @@
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+// Facet Index - one bitset of recipe IDs per facet value, so filtering and counting are bitset operations
+public class FacetIndex implements RecipeIndexer {
+    public static final String CATEGORY = "Category";
+    public static final String COST = "Cost";
+    public static final String SERVINGS = "Servings";
+    public static final String INGREDIENT = "Ingredient";
+
+    // Bucket limits in centavos
+    private static final long[] COST_LIMITS = {20000, 40000, 60000};
+    private static final String[] COST_BUCKETS = {"Under ₱200", "₱200 - ₱399", "₱400 - ₱599", "₱600 and up"};
+    private static final int[] SERVING_LIMITS = {3, 5, 7};
+    private static final String[] SERVING_BUCKETS = {"1 - 2", "3 - 4", "5 - 6", "7 or more"};
+
+    private final Map<String, Facet> facets = new LinkedHashMap<>();
+    private final BitSet all = new BitSet();
+
+    public FacetIndex() {
+        facets.put(CATEGORY, new Facet(recipe -> single(recipe.getCategory())));
+        facets.put(COST, new Facet(FacetIndex::costBucket, COST_BUCKETS));
+        facets.put(SERVINGS, new Facet(FacetIndex::servingBucket, SERVING_BUCKETS));
+        facets.put(INGREDIENT, new Facet(FacetIndex::ingredientNames));
+    }
+
+    @Override
+    public void add(Recipe recipe) {
+        all.set(recipe.getId());
+        for (Facet facet : facets.values()) {
+            facet.add(recipe);
+        }
+    }
+
+    @Override
+    public void update(Recipe recipe) {
+        remove(recipe);
+        add(recipe);
+    }
+
+    @Override
+    public void remove(Recipe recipe) {
+        all.clear(recipe.getId());
+        for (Facet facet : facets.values()) {
+            facet.remove(recipe.getId());
+        }
+    }
+
+    @Override
+    public void pricesChanged(Recipe recipe) {
+        // Only the cost bucket can move
+        Facet cost = facets.get(COST);
+        cost.remove(recipe.getId());
+        cost.add(recipe);
+    }
+
+    public List<String> getFacetNames() {
+        return new ArrayList<>(facets.keySet());
+    }
+
+    // IDs of recipes passing every facet that has a selection; values picked within one facet are alternatives
+    public BitSet filter(Map<String, Set<String>> selection) {
+        return filterExcept(selection, null);
+    }
+
+    // Value -> matching recipes for one facet, given the selections on all the other facets. Leaving the
+    // facet's own selection out shows what picking another value would add, which is how facet counts usually read
+    public Map<String, Integer> counts(String facetName, Map<String, Set<String>> selection) {
+        Facet facet = facets.get(facetName);
+        BitSet base = filterExcept(selection, facetName);
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, BitSet> value : facet.values.entrySet()) {
+            BitSet matching = (BitSet) value.getValue().clone();
+            matching.and(base);
+            counts.put(value.getKey(), matching.cardinality());
+        }
+        return counts;
+    }
+
+    public String getLabel(String facetName, String value) {
+        return facets.get(facetName).labels.getOrDefault(value, value);
+    }
+
+    private BitSet filterExcept(Map<String, Set<String>> selection, String skipped) {
+        BitSet result = (BitSet) all.clone();
+        for (Map.Entry<String, Set<String>> entry : selection.entrySet()) {
+            Facet facet = facets.get(entry.getKey());
+            if (facet == null || entry.getKey().equals(skipped) || entry.getValue().isEmpty()) {
+                continue;
+            }
+            BitSet any = new BitSet();
+            for (String value : entry.getValue()) {
+                BitSet ids = facet.values.get(value);
+                if (ids != null) {
+                    any.or(ids);
+                }
+            }
+            result.and(any);
+        }
+        return result;
+    }
+
+    private static Map<String, String> single(String value) {
+        return value == null || value.trim().isEmpty() ? Collections.emptyMap() : Collections.singletonMap(value, value);
+    }
+
+    private static Map<String, String> costBucket(Recipe recipe) {
+        long cost = recipe.computeTotalCostCentavos();
+        int bucket = 0;
+        while (bucket < COST_LIMITS.length && cost >= COST_LIMITS[bucket]) {
+            bucket++;
+        }
+        return single(COST_BUCKETS[bucket]);
+    }
+
+    // Only main dishes say how many they serve
+    private static Map<String, String> servingBucket(Recipe recipe) {
+        if (!(recipe instanceof MainDishRecipe)) {
+            return Collections.emptyMap();
+        }
+        int servings = ((MainDishRecipe) recipe).getServings();
+        int bucket = 0;
+        while (bucket < SERVING_LIMITS.length && servings >= SERVING_LIMITS[bucket]) {
+            bucket++;
+        }
+        return single(SERVING_BUCKETS[bucket]);
+    }
+
+    // "Garlic" and "garlic " are the same ingredient; the first spelling seen is the one shown
+    private static Map<String, String> ingredientNames(Recipe recipe) {
+        Map<String, String> names = new HashMap<>();
+        for (Ingredient ing : recipe.getIngredients()) {
+            if (ing.getName() != null && !ing.getName().trim().isEmpty()) {
+                names.putIfAbsent(SearchText.normalize(ing.getName().trim()), ing.getName().trim());
+            }
+        }
+        return names;
+    }
+
+    private static final class Facet {
+        // Every value a recipe has, each with the label to show for it
+        private final Function<Recipe, Map<String, String>> valuesOf;
+        // Fixed buckets keep their order and stay listed when empty; other values are kept sorted
+        private final Map<String, BitSet> values;
+        private final Set<String> fixedValues = new LinkedHashSet<>();
+        private final Map<String, String> labels = new HashMap<>();
+        private final Map<Integer, Set<String>> valuesByRecipe = new HashMap<>();
+
+        private Facet(Function<Recipe, Map<String, String>> valuesOf, String... buckets) {
+            this.valuesOf = valuesOf;
+            this.values = buckets.length > 0 ? new LinkedHashMap<>() : new TreeMap<>();
+            for (String bucket : buckets) {
+                values.put(bucket, new BitSet());
+                fixedValues.add(bucket);
+            }
+        }
+
+        private void add(Recipe recipe) {
+            Map<String, String> recipeValues = valuesOf.apply(recipe);
+            valuesByRecipe.put(recipe.getId(), recipeValues.keySet());
+            for (Map.Entry<String, String> value : recipeValues.entrySet()) {
+                labels.putIfAbsent(value.getKey(), value.getValue());
+                values.computeIfAbsent(value.getKey(), v -> new BitSet()).set(recipe.getId());
+            }
+        }
+
+        private void remove(int id) {
+            Set<String> recipeValues = valuesByRecipe.remove(id);
+            if (recipeValues == null) {
+                return;
+            }
+            for (String value : recipeValues) {
+                BitSet ids = values.get(value);
+                ids.clear(id);
+                if (ids.isEmpty() && !fixedValues.contains(value)) {
+                    values.remove(value);
+                    labels.remove(value);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -1,28 +1,157 @@
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
 
 // Image Utilities
 public class ImageUtils {
+    // Small fixed pool so decoding never competes with the EDT for every core
+    private static final ExecutorService LOADER = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)), r -> {
+                Thread thread = new Thread(r, "kya-image-loader");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+
+    private static final Map<Dimension, ImageIcon> placeholders = new HashMap<>();
+
     public static ImageIcon loadAndScaleImage(String path, int width, int height) {
         if (path == null || path.isEmpty()) {
-            return createPlaceholderImage(width, height);
+            return getPlaceholderImage(width, height);
         }
 
         try {
             File file = new File(path);
             if (!file.exists()) {
-                return createPlaceholderImage(width, height);
+                return getPlaceholderImage(width, height);
+            }
+
+            // Decoding is the expensive part, so reuse the scaled icon until the file changes
+            ThumbnailCache cache = ThumbnailCache.getShared();
+            ThumbnailCache.Key key = new ThumbnailCache.Key(file.getAbsolutePath(), width, height,
+                    file.lastModified());
+            ImageIcon cached = cache.get(key);
+            if (cached != null) {
+                return cached;
             }
 
-            BufferedImage originalImage = ImageIO.read(file);
-            Image scaledImage = originalImage.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-            return new ImageIcon(scaledImage);
+            // Next cheapest is the small rendition persisted by an earlier run
+            ThumbnailStore store = ThumbnailStore.getShared();
+            BufferedImage scaledImage = store.read(file, width, height);
+            if (scaledImage == null) {
+                scaledImage = decodeScaled(file, width, height);
+                if (scaledImage == null) {
+                    return getPlaceholderImage(width, height);
+                }
+                store.write(file, width, height, scaledImage);
+            }
+            ImageIcon icon = new ImageIcon(scaledImage);
+            cache.put(key, icon);
+            return icon;
         } catch (Exception e) {
-            return createPlaceholderImage(width, height);
+            return getPlaceholderImage(width, height);
+        }
+    }
+
+    // Decodes on the loader pool and hands the icon to the EDT; cancel the future to drop the request
+    public static Future<ImageIcon> loadAndScaleImageAsync(String path, int width, int height,
+            Consumer<ImageIcon> onLoaded) {
+        FutureTask<ImageIcon> task = new FutureTask<ImageIcon>(() -> loadAndScaleImage(path, width, height)) {
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    ImageIcon icon = get();
+                    SwingUtilities.invokeLater(() -> onLoaded.accept(icon));
+                } catch (Exception e) {
+                    // loadAndScaleImage already falls back to the placeholder
+                }
+            }
+        };
+        LOADER.execute(task);
+        return task;
+    }
+
+    // Returns the icon only if it is already decoded, without touching the disk beyond a stat
+    public static ImageIcon getCachedImage(String path, int width, int height) {
+        if (path == null || path.isEmpty()) {
+            return getPlaceholderImage(width, height);
+        }
+        File file = new File(path);
+        if (!file.exists()) {
+            return getPlaceholderImage(width, height);
         }
+        return ThumbnailCache.getShared().peek(new ThumbnailCache.Key(file.getAbsolutePath(), width, height,
+                file.lastModified()));
+    }
+
+    // Reads only every n-th source pixel when the photo is much larger than the thumbnail,
+    // then does a single high-quality resize instead of decoding at full resolution
+    private static BufferedImage decodeScaled(File file, int width, int height) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file)) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+
+                // Keep at least twice the target resolution so the final resize still has pixels to filter
+                int factor = Math.max(1, Math.min(sourceWidth / (width * 2), sourceHeight / (height * 2)));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(factor, factor, 0, 0);
+                return resize(reader.read(0, param), width, height);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, int height) {
+        boolean alpha = source.getColorModel().hasAlpha();
+        BufferedImage target;
+        if (GraphicsEnvironment.isHeadless()) {
+            target = new BufferedImage(width, height,
+                    alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        } else {
+            target = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                    .getDefaultConfiguration()
+                    .createCompatibleImage(width, height, alpha ? Transparency.TRANSLUCENT : Transparency.OPAQUE);
+        }
+
+        Graphics2D g2d = target.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.drawImage(source, 0, 0, width, height, null);
+        g2d.dispose();
+        return target;
+    }
+
+    public static synchronized ImageIcon getPlaceholderImage(int width, int height) {
+        return placeholders.computeIfAbsent(new Dimension(width, height),
+                d -> createPlaceholderImage(d.width, d.height));
     }
 
     private static ImageIcon createPlaceholderImage(int width, int height) {
@@ -1,13 +1,31 @@
+import java.util.ArrayList;
+import java.util.List;
+
 // Encapsulation - Ingredient Class
 public class Ingredient {
     private String name;
     private String quantity;
-    private double price;
+    private long priceCentavos;
+    // Recipes whose cached totals include this price; the same object may be listed in several
+    private Recipe owner;
+    private List<Recipe> otherOwners;
 
     public Ingredient(String name, String quantity, double price) {
         this.name = name;
         this.quantity = quantity;
-        this.price = price;
+        this.priceCentavos = Money.ofPesos(price);
+    }
+
+    private Ingredient(String name, String quantity) {
+        this.name = name;
+        this.quantity = quantity;
+    }
+
+    // Exact price, for amounts that are already in centavos
+    public static Ingredient ofCentavos(String name, String quantity, long priceCentavos) {
+        Ingredient ingredient = new Ingredient(name, quantity);
+        ingredient.priceCentavos = priceCentavos;
+        return ingredient;
     }
 
     public String getName() {
@@ -27,15 +45,56 @@ public class Ingredient {
     }
 
     public double getPrice() {
-        return price;
+        return Money.toPesos(priceCentavos);
+    }
+
+    public long getPriceCentavos() {
+        return priceCentavos;
     }
 
     public void setPrice(double price) {
-        this.price = price;
+        setPriceCentavos(Money.ofPesos(price));
+    }
+
+    public void setPriceCentavos(long priceCentavos) {
+        long oldPrice = this.priceCentavos;
+        this.priceCentavos = priceCentavos;
+        if (owner != null) {
+            owner.ingredientPriceChanged(this, oldPrice, priceCentavos);
+        }
+        if (otherOwners != null) {
+            for (Recipe other : otherOwners) {
+                other.ingredientPriceChanged(this, oldPrice, priceCentavos);
+            }
+        }
+    }
+
+    boolean isOwnedBy(Recipe recipe) {
+        return owner == recipe || otherOwners != null && otherOwners.contains(recipe);
+    }
+
+    // Called by a recipe when it starts listing this ingredient, however many times it lists it
+    void addOwner(Recipe recipe) {
+        if (owner == null) {
+            owner = recipe;
+        } else {
+            if (otherOwners == null) {
+                otherOwners = new ArrayList<>(2);
+            }
+            otherOwners.add(recipe);
+        }
+    }
+
+    void removeOwner(Recipe recipe) {
+        if (owner == recipe) {
+            owner = otherOwners == null || otherOwners.isEmpty() ? null : otherOwners.remove(otherOwners.size() - 1);
+        } else if (otherOwners != null) {
+            otherOwners.remove(recipe);
+        }
     }
 
     @Override
     public String toString() {
-        return quantity + " " + name + " - ₱" + String.format("%.2f", price);
+        return quantity + " " + name + " - " + Money.format(priceCentavos);
     }
 }
\ No newline at end of file
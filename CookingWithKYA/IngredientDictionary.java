@@ -0,0 +1,45 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Ingredient Dictionary - gives every distinct ingredient name a small int ID, so sets of ingredients can be bitsets
+public class IngredientDictionary {
+    private final Map<String, Integer> ids = new HashMap<>();
+    // Name as first written, by ID
+    private final List<String> names = new ArrayList<>();
+
+    // ID for the name, assigning the next one if the name is new; -1 for a blank name
+    public synchronized int intern(String name) {
+        String key = keyOf(name);
+        if (key.isEmpty()) {
+            return -1;
+        }
+        Integer id = ids.get(key);
+        if (id == null) {
+            id = names.size();
+            ids.put(key, id);
+            names.add(name.trim());
+        }
+        return id;
+    }
+
+    // ID for the name, or -1 if no recipe has ever used it
+    public synchronized int lookup(String name) {
+        Integer id = ids.get(keyOf(name));
+        return id == null ? -1 : id;
+    }
+
+    public synchronized String getName(int id) {
+        return names.get(id);
+    }
+
+    public synchronized int size() {
+        return names.size();
+    }
+
+    // "Garlic" and " garlic" are the same ingredient
+    private static String keyOf(String name) {
+        return SearchText.normalize(name).trim();
+    }
+}
\ No newline at end of file
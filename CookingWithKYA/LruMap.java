@@ -0,0 +1,25 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+// LRU Map - access-ordered map whose least recently used entries can be dropped until a budget is met
+public class LruMap<K, V> extends LinkedHashMap<K, V> {
+    public LruMap(int initialCapacity) {
+        super(initialCapacity, 0.75f, true);
+    }
+
+    // Removes entries, least recently used first, while overBudget holds; each removed value goes to
+    // onEvict. Returns how many were removed
+    public int evictWhile(BooleanSupplier overBudget, Consumer<? super V> onEvict) {
+        int evicted = 0;
+        Iterator<V> it = values().iterator();
+        while (overBudget.getAsBoolean() && it.hasNext()) {
+            V value = it.next();
+            it.remove();
+            onEvict.accept(value);
+            evicted++;
+        }
+        return evicted;
+    }
+}
\ No newline at end of file
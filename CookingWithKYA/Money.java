@@ -0,0 +1,70 @@
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Money - peso amounts held as whole centavos in a long, so totals are exact and adding them allocates nothing
+public final class Money {
+    public static final String PESO = "₱";
+
+    // Recently formatted amounts; a label repainting the same total reuses the same string
+    private static final int CACHE_SIZE = 1024;
+    private static final Formatted[] CACHE = new Formatted[CACHE_SIZE];
+
+    private Money() {
+    }
+
+    public static long ofPesos(double pesos) {
+        return Math.round(pesos * 100);
+    }
+
+    public static double toPesos(long centavos) {
+        return centavos / 100.0;
+    }
+
+    // Exact parse of typed amounts such as "45", "12.5" or "1,250.75"; throws NumberFormatException otherwise
+    public static long parse(String text) {
+        try {
+            return new BigDecimal(text.trim().replace(",", "")).movePointRight(2)
+                    .setScale(0, RoundingMode.HALF_UP).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: " + text);
+        }
+    }
+
+    // "₱243.00" - the layout the labels have always used
+    public static String format(long centavos) {
+        int slot = (int) ((centavos ^ (centavos >>> 32)) & (CACHE_SIZE - 1));
+        Formatted cached = CACHE[slot];
+        if (cached != null && cached.centavos == centavos) {
+            return cached.text;
+        }
+        String text = PESO + formatPlain(centavos);
+        // Entries are immutable, so a racing thread sees either the old entry or the new one
+        CACHE[slot] = new Formatted(centavos, text);
+        return text;
+    }
+
+    // "243.00", without the peso sign, for text fields and tables
+    public static String formatPlain(long centavos) {
+        StringBuilder sb = new StringBuilder(16);
+        if (centavos < 0) {
+            sb.append('-');
+        }
+        long abs = Math.abs(centavos);
+        long cents = abs % 100;
+        sb.append(abs / 100).append('.');
+        if (cents < 10) {
+            sb.append('0');
+        }
+        return sb.append(cents).toString();
+    }
+
+    private static final class Formatted {
+        private final long centavos;
+        private final String text;
+
+        private Formatted(long centavos, String text) {
+            this.centavos = centavos;
+            this.text = text;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+// Pantry Match - how far one recipe is from being cookable with what is in the pantry
+public class PantryMatch {
+    private final Recipe recipe;
+    private final int ingredientCount;
+    private final int missingCount;
+    private final long remainingCost;
+
+    public PantryMatch(Recipe recipe, int ingredientCount, int missingCount, long remainingCost) {
+        this.recipe = recipe;
+        this.ingredientCount = ingredientCount;
+        this.missingCount = missingCount;
+        this.remainingCost = remainingCost;
+    }
+
+    public Recipe getRecipe() {
+        return recipe;
+    }
+
+    public int getIngredientCount() {
+        return ingredientCount;
+    }
+
+    public int getMissingCount() {
+        return missingCount;
+    }
+
+    // Same as recipe.computeRemainingCost(pantry), in centavos
+    public long getRemainingCostCentavos() {
+        return remainingCost;
+    }
+}
\ No newline at end of file
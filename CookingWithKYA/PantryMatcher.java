@@ -0,0 +1,156 @@
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Pantry Matcher - ranks the whole catalog against a pantry. Each recipe is kept as an array of ingredient IDs
+// with their prices, so scoring a recipe is a bitset probe per ingredient with nothing allocated
+public class PantryMatcher implements RecipeIndexer {
+    public enum Order { FEWEST_MISSING, LOWEST_COST }
+
+    private final IngredientDictionary dictionary;
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    // How many recipes use each ingredient ID, so the pantry list only offers ingredients still in use
+    private int[] usage = new int[64];
+
+    public PantryMatcher(IngredientDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public void add(Recipe recipe) {
+        Ingredient[] lines = recipe.getIngredients().toArray(new Ingredient[0]);
+        int[] ids = new int[lines.length];
+        long[] prices = new long[lines.length];
+        BitSet distinct = new BitSet();
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = dictionary.intern(lines[i].getName());
+            prices[i] = lines[i].getPriceCentavos();
+            if (ids[i] >= 0 && !distinct.get(ids[i])) {
+                distinct.set(ids[i]);
+                changeUsage(ids[i], 1);
+            }
+        }
+        entries.put(recipe.getId(), new Entry(recipe, lines, ids, prices));
+    }
+
+    @Override
+    public void update(Recipe recipe) {
+        remove(recipe);
+        add(recipe);
+    }
+
+    @Override
+    public void remove(Recipe recipe) {
+        Entry entry = entries.remove(recipe.getId());
+        if (entry == null) {
+            return;
+        }
+        BitSet distinct = new BitSet();
+        for (int id : entry.ingredientIds) {
+            if (id >= 0 && !distinct.get(id)) {
+                distinct.set(id);
+                changeUsage(id, -1);
+            }
+        }
+    }
+
+    @Override
+    public void pricesChanged(Recipe recipe) {
+        // Read through the indexed lines, which stay paired with their IDs however the recipe's list is reordered
+        Entry entry = entries.get(recipe.getId());
+        if (entry == null) {
+            return;
+        }
+        for (int i = 0; i < entry.lines.length; i++) {
+            entry.prices[i] = entry.lines[i].getPriceCentavos();
+        }
+    }
+
+    // Pantry as a bitset of ingredient IDs; names no recipe uses can't matter and are skipped
+    public BitSet toPantry(Collection<String> names) {
+        BitSet pantry = new BitSet();
+        for (String name : names) {
+            int id = dictionary.lookup(name);
+            if (id >= 0) {
+                pantry.set(id);
+            }
+        }
+        return pantry;
+    }
+
+    // The limit best recipes for the pantry; ties keep catalog order
+    public List<PantryMatch> rank(BitSet pantry, Order order, int limit) {
+        Comparator<PantryMatch> better = order == Order.LOWEST_COST
+                ? Comparator.comparingLong(PantryMatch::getRemainingCostCentavos)
+                        .thenComparingInt(PantryMatch::getMissingCount)
+                : Comparator.comparingInt(PantryMatch::getMissingCount)
+                        .thenComparingLong(PantryMatch::getRemainingCostCentavos);
+        better = better.thenComparingInt(match -> match.getRecipe().getId());
+        TopK<PantryMatch> top = new TopK<>(better, limit);
+
+        for (Entry entry : entries.values()) {
+            int missing = 0;
+            long remaining = 0;
+            for (int i = 0; i < entry.ingredientIds.length; i++) {
+                int id = entry.ingredientIds[i];
+                if (id < 0 || !pantry.get(id)) {
+                    missing++;
+                    remaining += entry.prices[i];
+                }
+            }
+            // Settle it on the numbers before allocating a match that would only be thrown away
+            if (top.isFull() && limit > 0) {
+                PantryMatch weakest = top.weakest();
+                boolean beaten = order == Order.LOWEST_COST
+                        ? remaining > weakest.getRemainingCostCentavos() ||
+                                remaining == weakest.getRemainingCostCentavos() && missing > weakest.getMissingCount()
+                        : missing > weakest.getMissingCount() ||
+                                missing == weakest.getMissingCount() && remaining > weakest.getRemainingCostCentavos();
+                if (beaten) {
+                    continue;
+                }
+            }
+            top.offer(new PantryMatch(entry.recipe, entry.ingredientIds.length, missing, remaining));
+        }
+        return top.toSortedList();
+    }
+
+    // Names of the ingredients at least one recipe uses, alphabetically
+    public List<String> getIngredientNames() {
+        List<String> names = new ArrayList<>();
+        for (int id = 0; id < usage.length; id++) {
+            if (usage[id] > 0) {
+                names.add(dictionary.getName(id));
+            }
+        }
+        names.sort(String.CASE_INSENSITIVE_ORDER);
+        return names;
+    }
+
+    private void changeUsage(int id, int delta) {
+        if (id >= usage.length) {
+            int[] grown = new int[Math.max(id + 1, usage.length * 2)];
+            System.arraycopy(usage, 0, grown, 0, usage.length);
+            usage = grown;
+        }
+        usage[id] += delta;
+    }
+
+    private static final class Entry {
+        private final Recipe recipe;
+        private final Ingredient[] lines;
+        private final int[] ingredientIds;
+        private final long[] prices;
+
+        private Entry(Recipe recipe, Ingredient[] lines, int[] ingredientIds, long[] prices) {
+            this.recipe = recipe;
+            this.lines = lines;
+            this.ingredientIds = ingredientIds;
+            this.prices = prices;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,169 @@
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Pantry Panel - tick what is in the kitchen and see which recipes are closest to cookable
+public class PantryPanel extends JPanel {
+    // Only the best matches are shown, however big the catalog is
+    private static final int MAX_RESULTS = 100;
+
+    private RecipeManager manager;
+    private DefaultListModel<String> ingredientModel;
+    private JList<String> ingredientList;
+    private JComboBox<String> orderBox;
+    private DefaultTableModel resultsModel;
+    private JLabel summaryLabel;
+    private boolean reloadingIngredients;
+
+    public PantryPanel(RecipeManager manager) {
+        this.manager = manager;
+        initializeUI();
+        manager.addRecipeChangeListener(event -> {
+            reloadIngredients();
+            updateResults();
+        });
+    }
+
+    private void initializeUI() {
+        setLayout(new BorderLayout(10, 10));
+        setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
+
+        JLabel headerLabel = new JLabel("What Can I Cook?");
+        headerLabel.setFont(new Font("Segoe UI", Font.BOLD, 20));
+
+        orderBox = new JComboBox<>(new String[] {"Fewest missing ingredients", "Lowest remaining cost"});
+        orderBox.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        orderBox.addActionListener(e -> updateResults());
+
+        JPanel orderPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JLabel orderLabel = new JLabel("Sort by:");
+        orderLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        orderPanel.add(orderLabel);
+        orderPanel.add(orderBox);
+
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.add(headerLabel, BorderLayout.WEST);
+        topPanel.add(orderPanel, BorderLayout.EAST);
+
+        // Pantry list - a click ticks or unticks an ingredient, no Ctrl needed
+        ingredientModel = new DefaultListModel<>();
+        ingredientList = new JList<>(ingredientModel);
+        ingredientList.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        ingredientList.setSelectionModel(new DefaultListSelectionModel() {
+            @Override
+            public void setSelectionInterval(int index0, int index1) {
+                if (reloadingIngredients) {
+                    super.setSelectionInterval(index0, index1);
+                } else if (isSelectedIndex(index0)) {
+                    super.removeSelectionInterval(index0, index1);
+                } else {
+                    super.addSelectionInterval(index0, index1);
+                }
+            }
+        });
+        ingredientList.addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting() && !reloadingIngredients) {
+                updateResults();
+            }
+        });
+        reloadIngredients();
+
+        JButton clearButton = createStyledButton("Clear Pantry");
+        clearButton.addActionListener(e -> ingredientList.clearSelection());
+
+        JPanel pantryPanel = new JPanel(new BorderLayout(5, 5));
+        pantryPanel.setBorder(BorderFactory.createTitledBorder("In My Pantry"));
+        pantryPanel.setPreferredSize(new Dimension(250, 0));
+        pantryPanel.add(new JScrollPane(ingredientList), BorderLayout.CENTER);
+        pantryPanel.add(clearButton, BorderLayout.SOUTH);
+
+        resultsModel = new DefaultTableModel(
+                new String[] {"Recipe", "Category", "Missing", "Remaining Cost", "Still Needed"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JTable resultsTable = new JTable(resultsModel);
+        resultsTable.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        resultsTable.setRowHeight(24);
+        resultsTable.getColumnModel().getColumn(4).setPreferredWidth(300);
+
+        summaryLabel = new JLabel(" ");
+        summaryLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+
+        JPanel resultsPanel = new JPanel(new BorderLayout(5, 5));
+        resultsPanel.add(new JScrollPane(resultsTable), BorderLayout.CENTER);
+        resultsPanel.add(summaryLabel, BorderLayout.SOUTH);
+
+        add(topPanel, BorderLayout.NORTH);
+        add(pantryPanel, BorderLayout.WEST);
+        add(resultsPanel, BorderLayout.CENTER);
+
+        updateResults();
+    }
+
+    // Refills the ingredient list from the catalog, keeping whatever was ticked
+    private void reloadIngredients() {
+        Set<String> ticked = new HashSet<>(ingredientList.getSelectedValuesList());
+        reloadingIngredients = true;
+        try {
+            ingredientModel.clear();
+            for (String name : manager.getIngredientNames()) {
+                ingredientModel.addElement(name);
+            }
+            ingredientList.clearSelection();
+            for (int i = 0; i < ingredientModel.size(); i++) {
+                if (ticked.contains(ingredientModel.get(i))) {
+                    ingredientList.addSelectionInterval(i, i);
+                }
+            }
+        } finally {
+            reloadingIngredients = false;
+        }
+    }
+
+    private void updateResults() {
+        List<String> pantry = ingredientList.getSelectedValuesList();
+        PantryMatcher.Order order = orderBox.getSelectedIndex() == 1
+                ? PantryMatcher.Order.LOWEST_COST : PantryMatcher.Order.FEWEST_MISSING;
+        List<PantryMatch> matches = manager.rankByPantry(pantry, order, MAX_RESULTS);
+
+        Set<String> have = new HashSet<>();
+        for (String name : pantry) {
+            have.add(name.toLowerCase().trim());
+        }
+        resultsModel.setRowCount(0);
+        for (PantryMatch match : matches) {
+            Recipe recipe = match.getRecipe();
+            List<String> needed = new ArrayList<>();
+            for (Ingredient ing : recipe.getIngredients()) {
+                if (!have.contains(ing.getName().toLowerCase().trim())) {
+                    needed.add(ing.getName());
+                }
+            }
+            resultsModel.addRow(new Object[] {
+                    recipe.getTitle(),
+                    recipe.getCategory(),
+                    match.getMissingCount() + " of " + match.getIngredientCount(),
+                    Money.format(match.getRemainingCostCentavos()),
+                    needed.isEmpty() ? "Nothing - ready to cook!" : String.join(", ", needed)
+            });
+        }
+        summaryLabel.setText(pantry.size() + " ingredient(s) in the pantry. Showing the best " + matches.size() +
+                " recipe(s).");
+    }
+
+    private JButton createStyledButton(String text) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        button.setFocusPainted(false);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        button.setPreferredSize(new Dimension(150, 35));
+        return button;
+    }
+}
\ No newline at end of file
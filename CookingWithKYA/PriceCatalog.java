@@ -0,0 +1,109 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Price Catalog - market prices by ingredient ID, plus which Ingredient objects in the catalog use each ID,
+// so repricing "Garlic" touches only the recipes that contain garlic. Once an ingredient has a market price,
+// a recipe added or edited with a different price for it sets a new market price for every recipe using it.
+// Register it before the other indexers so they index those prices
+public class PriceCatalog implements RecipeIndexer {
+    private final IngredientDictionary dictionary;
+    // Market price per ingredient ID in centavos; -1 where no price has been set centrally
+    private long[] prices = new long[64];
+    // Ingredient ID -> every ingredient line using it, across all recipes, with how many times it is listed;
+    // one Ingredient object may be shared
+    private final List<Map<Ingredient, Integer>> uses = new ArrayList<>();
+    // The lines each recipe had when it was indexed; an edit replaces the Ingredient objects
+    private final Map<Integer, List<Ingredient>> linesByRecipe = new HashMap<>();
+    private final Map<Integer, int[]> idsByRecipe = new HashMap<>();
+
+    public PriceCatalog(IngredientDictionary dictionary) {
+        this.dictionary = dictionary;
+        Arrays.fill(prices, -1);
+    }
+
+    @Override
+    public void add(Recipe recipe) {
+        List<Ingredient> lines = new ArrayList<>(recipe.getIngredients());
+        int[] ids = new int[lines.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = dictionary.intern(lines.get(i).getName());
+            if (ids[i] >= 0) {
+                usesOf(ids[i]).merge(lines.get(i), 1, Integer::sum);
+                long price = getPrice(ids[i]);
+                if (price >= 0 && lines.get(i).getPriceCentavos() != price) {
+                    setPrice(ids[i], lines.get(i).getPriceCentavos());
+                }
+            }
+        }
+        linesByRecipe.put(recipe.getId(), lines);
+        idsByRecipe.put(recipe.getId(), ids);
+    }
+
+    @Override
+    public void update(Recipe recipe) {
+        remove(recipe);
+        add(recipe);
+    }
+
+    @Override
+    public void remove(Recipe recipe) {
+        List<Ingredient> lines = linesByRecipe.remove(recipe.getId());
+        int[] ids = idsByRecipe.remove(recipe.getId());
+        if (lines == null) {
+            return;
+        }
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] >= 0) {
+                uses.get(ids[i]).computeIfPresent(lines.get(i), (line, count) -> count == 1 ? null : count - 1);
+            }
+        }
+    }
+
+    @Override
+    public void pricesChanged(Recipe recipe) {
+        // Only prices moved; the lines and their IDs are the same
+    }
+
+    // Central price in centavos, or -1 if this ingredient has never been priced through the catalog
+    public long getPrice(int ingredientId) {
+        return ingredientId < prices.length ? prices[ingredientId] : -1;
+    }
+
+    // Records the price and applies it to every line using the ingredient; each line's owner adjusts its own
+    // total and reports the change, so nothing is summed again. Returns how many lines changed price
+    public int setPrice(int ingredientId, long centavos) {
+        if (ingredientId >= prices.length) {
+            int oldLength = prices.length;
+            prices = Arrays.copyOf(prices, Math.max(ingredientId + 1, oldLength * 2));
+            Arrays.fill(prices, oldLength, prices.length, -1);
+        }
+        prices[ingredientId] = centavos;
+
+        int changed = 0;
+        if (ingredientId < uses.size()) {
+            for (Ingredient line : uses.get(ingredientId).keySet()) {
+                if (line.getPriceCentavos() != centavos) {
+                    line.setPriceCentavos(centavos);
+                    changed++;
+                }
+            }
+        }
+        return changed;
+    }
+
+    // How many Ingredient objects across the catalog use the ingredient
+    public int getUseCount(int ingredientId) {
+        return ingredientId < uses.size() ? uses.get(ingredientId).size() : 0;
+    }
+
+    private Map<Ingredient, Integer> usesOf(int ingredientId) {
+        while (uses.size() <= ingredientId) {
+            // Ingredient has no equals(), so lines are keyed by identity
+            uses.add(new HashMap<>());
+        }
+        return uses.get(ingredientId);
+    }
+}
\ No newline at end of file
@@ -1,13 +1,25 @@
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Consumer;
 
 // Base Recipe Class with Encapsulation
 public abstract class Recipe implements RecipeInterface {
+    private int id = -1;
     private String title;
     private String category;
     private String instructions;
     private String personalNotes;
     private List<Ingredient> ingredients;
+    // Every change to the list goes through this view, so the total below never needs a rescan
+    private final List<Ingredient> ingredientView = new IngredientList();
+    private long totalCentavos;
+    // Told when an ingredient's price changes, so the manager can refresh its cost indexes
+    private Consumer<Recipe> priceListener;
     private String imagePath;
 
     public Recipe(String title, String category, String imagePath) {
@@ -19,6 +31,19 @@ public abstract class Recipe implements RecipeInterface {
         this.imagePath = imagePath;
     }
 
+    // Assigned by RecipeManager when the recipe is added; -1 until then
+    public int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+
+    void setPriceListener(Consumer<Recipe> priceListener) {
+        this.priceListener = priceListener;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -51,8 +76,9 @@ public abstract class Recipe implements RecipeInterface {
         this.personalNotes = notes;
     }
 
+    // Live, modifiable view; adding, removing or replacing through it keeps the total cost up to date
     public List<Ingredient> getIngredients() {
-        return ingredients;
+        return ingredientView;
     }
 
     public String getImagePath() {
@@ -65,25 +91,65 @@ public abstract class Recipe implements RecipeInterface {
 
     @Override
     public void addIngredient(Ingredient ingredient) {
-        ingredients.add(ingredient);
+        ingredientView.add(ingredient);
     }
 
     @Override
     public void removeIngredient(String ingredientName) {
-        ingredients.removeIf(i -> i.getName().equalsIgnoreCase(ingredientName));
+        ingredientView.removeIf(i -> i.getName().equalsIgnoreCase(ingredientName));
     }
 
     @Override
     public double computeTotalCost() {
-        return ingredients.stream().mapToDouble(Ingredient::getPrice).sum();
+        return Money.toPesos(totalCentavos);
+    }
+
+    @Override
+    public long computeTotalCostCentavos() {
+        return totalCentavos;
+    }
+
+    // Called by an ingredient of this recipe when its price changes; an object listed twice counts twice
+    void ingredientPriceChanged(Ingredient ingredient, long oldPrice, long newPrice) {
+        int listed = 0;
+        for (int i = 0; i < ingredients.size(); i++) {
+            if (ingredients.get(i) == ingredient) {
+                listed++;
+            }
+        }
+        totalCentavos += listed * (newPrice - oldPrice);
+        if (priceListener != null && oldPrice != newPrice) {
+            priceListener.accept(this);
+        }
     }
 
     @Override
     public double computeRemainingCost(List<String> availableIngredients) {
-        return ingredients.stream()
-                .filter(i -> !availableIngredients.contains(i.getName().toLowerCase()))
-                .mapToDouble(Ingredient::getPrice)
-                .sum();
+        long remaining = 0;
+        for (Ingredient ing : ingredients) {
+            if (!availableIngredients.contains(ing.getName().toLowerCase())) {
+                remaining += ing.getPriceCentavos();
+            }
+        }
+        return Money.toPesos(remaining);
+    }
+
+    @Override
+    public double computeRemainingCost(Set<Ingredient> availableIngredients) {
+        return Money.toPesos(computeRemainingCostCentavos(availableIngredients));
+    }
+
+    // By reference: one set probe per ingredient, no name lower-casing and nothing allocated
+    @Override
+    public long computeRemainingCostCentavos(Set<Ingredient> availableIngredients) {
+        long remaining = 0;
+        for (int i = 0; i < ingredients.size(); i++) {
+            Ingredient ing = ingredients.get(i);
+            if (!availableIngredients.contains(ing)) {
+                remaining += ing.getPriceCentavos();
+            }
+        }
+        return remaining;
     }
 
     @Override
@@ -101,4 +167,69 @@ public abstract class Recipe implements RecipeInterface {
         }
         return sb.toString();
     }
+
+    // The total counts every entry in the list, so one Ingredient listed twice is paid for twice
+    private void attach(Ingredient ingredient) {
+        Objects.requireNonNull(ingredient, "ingredient");
+        if (!ingredient.isOwnedBy(this)) {
+            ingredient.addOwner(this);
+        }
+        totalCentavos += ingredient.getPriceCentavos();
+    }
+
+    // Call once the entry has left the list
+    private void detach(Ingredient ingredient) {
+        if (!ingredients.contains(ingredient)) {
+            ingredient.removeOwner(this);
+        }
+        totalCentavos -= ingredient.getPriceCentavos();
+    }
+
+    private final class IngredientList extends AbstractList<Ingredient> implements RandomAccess {
+        @Override
+        public Ingredient get(int index) {
+            return ingredients.get(index);
+        }
+
+        @Override
+        public int size() {
+            return ingredients.size();
+        }
+
+        // Collections.swap, reverse and shuffle move items with set(); the total is right again once they finish
+        @Override
+        public Ingredient set(int index, Ingredient ingredient) {
+            Ingredient previous = ingredients.get(index);
+            if (previous == ingredient) {
+                return previous;
+            }
+            attach(ingredient);
+            ingredients.set(index, ingredient);
+            detach(previous);
+            modCount++;
+            return previous;
+        }
+
+        @Override
+        public void add(int index, Ingredient ingredient) {
+            attach(ingredient);
+            ingredients.add(index, ingredient);
+            modCount++;
+        }
+
+        @Override
+        public Ingredient remove(int index) {
+            Ingredient removed = ingredients.remove(index);
+            detach(removed);
+            modCount++;
+            return removed;
+        }
+
+        // A permutation leaves the total as it is
+        @Override
+        public void sort(Comparator<? super Ingredient> comparator) {
+            ingredients.sort(comparator);
+            modCount++;
+        }
+    }
 }
\ No newline at end of file
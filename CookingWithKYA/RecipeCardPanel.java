@@ -1,46 +1,50 @@
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.*;
 
-// Custom Recipe Card Panel
+// Custom Recipe Card Panel - a single instance is reused by RecipeGrid to paint every card
 public class RecipeCardPanel extends JPanel {
+    public static final int IMAGE_SIZE = 180;
+
+    private static final Color HOVER_BACKGROUND = new Color(240, 240, 255);
+
     private JLabel imageLabel;
+    private JPanel infoPanel;
+    private JLabel titleLabel;
+    private JLabel categoryLabel;
+    private JLabel costLabel;
 
-    public RecipeCardPanel(Recipe recipe, Runnable onSelect, Runnable onDelete) {
+    public RecipeCardPanel() {
         setLayout(new BorderLayout(10, 10));
         setBorder(BorderFactory.createCompoundBorder(
                 BorderFactory.createLineBorder(new Color(200, 200, 200), 1),
                 BorderFactory.createEmptyBorder(10, 10, 10, 10)));
         setBackground(Color.WHITE);
-        setCursor(new Cursor(Cursor.HAND_CURSOR));
 
         // Image panel
         JPanel imagePanel = new JPanel(new BorderLayout());
         imagePanel.setBackground(new Color(245, 245, 245));
-        imagePanel.setPreferredSize(new Dimension(180, 180));
+        imagePanel.setPreferredSize(new Dimension(IMAGE_SIZE, IMAGE_SIZE));
 
         imageLabel = new JLabel();
         imageLabel.setHorizontalAlignment(SwingConstants.CENTER);
         imageLabel.setVerticalAlignment(SwingConstants.CENTER);
-        ImageIcon recipeImage = ImageUtils.loadAndScaleImage(recipe.getImagePath(), 180, 180);
-        imageLabel.setIcon(recipeImage);
         imagePanel.add(imageLabel, BorderLayout.CENTER);
 
         // Info panel
-        JPanel infoPanel = new JPanel();
+        infoPanel = new JPanel();
         infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
         infoPanel.setBackground(Color.WHITE);
 
-        JLabel titleLabel = new JLabel(recipe.getTitle());
+        titleLabel = new JLabel(" ");
         titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 18));
         titleLabel.setAlignmentX(LEFT_ALIGNMENT);
 
-        JLabel categoryLabel = new JLabel(recipe.getCategory());
+        categoryLabel = new JLabel(" ");
         categoryLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
         categoryLabel.setForeground(new Color(100, 100, 100));
         categoryLabel.setAlignmentX(LEFT_ALIGNMENT);
 
-        JLabel costLabel = new JLabel("Cost: ₱" + String.format("%.2f", recipe.computeTotalCost()));
+        costLabel = new JLabel(" ");
         costLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
         costLabel.setForeground(new Color(0, 128, 0));
         costLabel.setAlignmentX(LEFT_ALIGNMENT);
@@ -53,25 +57,17 @@ public class RecipeCardPanel extends JPanel {
 
         add(imagePanel, BorderLayout.NORTH);
         add(infoPanel, BorderLayout.CENTER);
+    }
 
-        // Click to select
-        addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                onSelect.run();
-            }
-
-            @Override
-            public void mouseEntered(MouseEvent e) {
-                setBackground(new Color(240, 240, 255));
-                infoPanel.setBackground(new Color(240, 240, 255));
-            }
+    // Prepares the renderer for painting one card
+    public void configure(Recipe recipe, ImageIcon image, boolean hovered) {
+        imageLabel.setIcon(image);
+        titleLabel.setText(recipe.getTitle());
+        categoryLabel.setText(recipe.getCategory());
+        costLabel.setText("Cost: " + Money.format(recipe.computeTotalCostCentavos()));
 
-            @Override
-            public void mouseExited(MouseEvent e) {
-                setBackground(Color.WHITE);
-                infoPanel.setBackground(Color.WHITE);
-            }
-        });
+        Color background = hovered ? HOVER_BACKGROUND : Color.WHITE;
+        setBackground(background);
+        infoPanel.setBackground(background);
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+import java.util.Collections;
+import java.util.List;
+
+// Change Event - everything that changed in one mutation or one batch
+public class RecipeChangeEvent {
+    private final RecipeManager source;
+    private final List<Recipe> added;
+    private final List<Recipe> updated;
+    private final List<Recipe> removed;
+
+    public RecipeChangeEvent(RecipeManager source, List<Recipe> added, List<Recipe> updated, List<Recipe> removed) {
+        this.source = source;
+        this.added = Collections.unmodifiableList(added);
+        this.updated = Collections.unmodifiableList(updated);
+        this.removed = Collections.unmodifiableList(removed);
+    }
+
+    public RecipeManager getSource() {
+        return source;
+    }
+
+    public List<Recipe> getAdded() {
+        return added;
+    }
+
+    public List<Recipe> getUpdated() {
+        return updated;
+    }
+
+    public List<Recipe> getRemoved() {
+        return removed;
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "RecipeChangeEvent[added=" + added.size() + ", updated=" + updated.size() +
+                ", removed=" + removed.size() + "]";
+    }
+}
\ No newline at end of file
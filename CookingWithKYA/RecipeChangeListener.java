@@ -0,0 +1,4 @@
+// Observer - notified by RecipeManager after recipes are added, updated or removed
+public interface RecipeChangeListener {
+    void recipesChanged(RecipeChangeEvent event);
+}
\ No newline at end of file
@@ -0,0 +1,326 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+// Recipe Grid - two-column card grid that only paints the cells in view, like JList does with its renderer
+public class RecipeGrid extends JComponent implements Scrollable {
+    private static final int COLUMNS = 2;
+    private static final int GAP = 15;
+
+    private final RecipeCardPanel renderer = new RecipeCardPanel();
+    private final CellRendererPane rendererPane = new CellRendererPane();
+    private final List<Recipe> recipes = new ArrayList<>();
+    private final Map<String, ImageIcon> images = new HashMap<>();
+    private final Map<String, Future<ImageIcon>> pendingImages = new HashMap<>();
+    private final int cellHeight;
+    private final int cellWidth;
+    private Recipe selectedRecipe;
+    private int hoverIndex = -1;
+    private Consumer<Recipe> selectionListener;
+    private boolean firstCardPainted;
+
+    public RecipeGrid() {
+        add(rendererPane);
+        setOpaque(true);
+        setBackground(Color.WHITE);
+        setCursor(new Cursor(Cursor.HAND_CURSOR));
+
+        Dimension cellSize = renderer.getPreferredSize();
+        cellWidth = cellSize.width;
+        cellHeight = cellSize.height;
+
+        MouseAdapter mouseHandler = new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = indexAt(e.getPoint());
+                if (index >= 0) {
+                    setSelectedRecipe(recipes.get(index));
+                }
+            }
+
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                setHoverIndex(indexAt(e.getPoint()));
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                setHoverIndex(-1);
+            }
+        };
+        addMouseListener(mouseHandler);
+        addMouseMotionListener(mouseHandler);
+    }
+
+    public void setRecipes(List<Recipe> newRecipes) {
+        recipes.clear();
+        recipes.addAll(newRecipes);
+        hoverIndex = -1;
+        if (selectedRecipe != null && !recipes.contains(selectedRecipe)) {
+            selectedRecipe = null;
+        }
+        revalidate();
+        repaint();
+    }
+
+    public void addRecipes(Collection<Recipe> added) {
+        if (added.isEmpty()) {
+            return;
+        }
+        int first = recipes.size();
+        recipes.addAll(added);
+        revalidate();
+        repaintFrom(first);
+    }
+
+    public void removeRecipes(Collection<Recipe> removed) {
+        if (removed.isEmpty()) {
+            return;
+        }
+        Set<Recipe> gone = Collections.newSetFromMap(new IdentityHashMap<>());
+        gone.addAll(removed);
+        int first = -1;
+        for (int i = 0; i < recipes.size() && first < 0; i++) {
+            if (gone.contains(recipes.get(i))) {
+                first = i;
+            }
+        }
+        if (first < 0) {
+            return;
+        }
+        recipes.removeIf(gone::contains);
+        if (gone.contains(selectedRecipe)) {
+            selectedRecipe = null;
+        }
+        hoverIndex = -1;
+        revalidate();
+        repaintFrom(first);
+    }
+
+    public void recipeChanged(Recipe recipe) {
+        int index = indexOf(recipe);
+        if (index >= 0) {
+            repaint(getCellBounds(index));
+        }
+    }
+
+    // Repaints the cells showing any of the given recipes; a repricing can touch most of the catalog, so this is
+    // one pass over the grid instead of an indexOf per recipe
+    public void recipesChanged(Collection<Recipe> changed) {
+        if (changed.size() == 1) {
+            recipeChanged(changed.iterator().next());
+            return;
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        Set<Recipe> dirty = Collections.newSetFromMap(new IdentityHashMap<>());
+        dirty.addAll(changed);
+        for (int i = 0; i < recipes.size(); i++) {
+            if (dirty.contains(recipes.get(i))) {
+                repaint(getCellBounds(i));
+            }
+        }
+    }
+
+    public int indexOf(Recipe recipe) {
+        for (int i = 0; i < recipes.size(); i++) {
+            if (recipes.get(i) == recipe) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public List<Recipe> getRecipes() {
+        return new ArrayList<>(recipes);
+    }
+
+    public int getRecipeCount() {
+        return recipes.size();
+    }
+
+    public Recipe getSelectedRecipe() {
+        return selectedRecipe;
+    }
+
+    public void setSelectedRecipe(Recipe recipe) {
+        selectedRecipe = recipe;
+        if (selectionListener != null && recipe != null) {
+            selectionListener.accept(recipe);
+        }
+    }
+
+    public void setSelectionListener(Consumer<Recipe> selectionListener) {
+        this.selectionListener = selectionListener;
+    }
+
+    public int getColumnCount() {
+        return COLUMNS;
+    }
+
+    public int getRowCount() {
+        return (recipes.size() + COLUMNS - 1) / COLUMNS;
+    }
+
+    public int getRowHeight() {
+        return cellHeight + GAP;
+    }
+
+    public int rowAtY(int y) {
+        return Math.max(0, Math.min(getRowCount() - 1, y / getRowHeight()));
+    }
+
+    public Rectangle getCellBounds(int index) {
+        int width = (getWidth() - GAP * (COLUMNS - 1)) / COLUMNS;
+        int row = index / COLUMNS;
+        int column = index % COLUMNS;
+        return new Rectangle(column * (width + GAP), row * getRowHeight(), width, cellHeight);
+    }
+
+    public int indexAt(Point point) {
+        int row = point.y / getRowHeight();
+        int width = (getWidth() - GAP * (COLUMNS - 1)) / COLUMNS;
+        int column = Math.min(COLUMNS - 1, point.x / (width + GAP));
+        int index = row * COLUMNS + column;
+        if (index >= recipes.size() || !getCellBounds(index).contains(point)) {
+            return -1;
+        }
+        return index;
+    }
+
+    // Starts decoding the images of the given cell range that are not loaded yet
+    public void requestImages(int fromIndex, int toIndex) {
+        for (int i = Math.max(0, fromIndex); i < Math.min(toIndex, recipes.size()); i++) {
+            String path = recipes.get(i).getImagePath();
+            if (path == null || images.containsKey(path) || pendingImages.containsKey(path)) {
+                continue;
+            }
+            ImageIcon cached = ImageUtils.getCachedImage(path, RecipeCardPanel.IMAGE_SIZE, RecipeCardPanel.IMAGE_SIZE);
+            if (cached != null) {
+                images.put(path, cached);
+                continue;
+            }
+            pendingImages.put(path, ImageUtils.loadAndScaleImageAsync(path,
+                    RecipeCardPanel.IMAGE_SIZE, RecipeCardPanel.IMAGE_SIZE, icon -> {
+                        if (pendingImages.remove(path) != null) {
+                            images.put(path, icon);
+                            repaint();
+                        }
+                    }));
+        }
+    }
+
+    // Drops image references and pending loads for every cell outside the given range
+    public void releaseImagesOutside(int fromIndex, int toIndex) {
+        Set<String> keep = new HashSet<>();
+        for (int i = Math.max(0, fromIndex); i < Math.min(toIndex, recipes.size()); i++) {
+            keep.add(recipes.get(i).getImagePath());
+        }
+        images.keySet().retainAll(keep);
+        Iterator<Map.Entry<String, Future<ImageIcon>>> it = pendingImages.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Future<ImageIcon>> entry = it.next();
+            if (!keep.contains(entry.getKey())) {
+                entry.getValue().cancel(false);
+                it.remove();
+            }
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        releaseImagesOutside(0, 0);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        g.setColor(getBackground());
+        Rectangle clip = g.getClipBounds();
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        if (recipes.isEmpty()) {
+            return;
+        }
+
+        int firstRow = rowAtY(clip.y);
+        int lastRow = rowAtY(clip.y + clip.height);
+        ImageIcon placeholder = ImageUtils.getPlaceholderImage(RecipeCardPanel.IMAGE_SIZE, RecipeCardPanel.IMAGE_SIZE);
+        for (int i = firstRow * COLUMNS; i < Math.min((lastRow + 1) * COLUMNS, recipes.size()); i++) {
+            Recipe recipe = recipes.get(i);
+            ImageIcon image = recipe.getImagePath() == null ? null : images.get(recipe.getImagePath());
+            renderer.configure(recipe, image != null ? image : placeholder, i == hoverIndex);
+            if (image != null && !firstCardPainted) {
+                firstCardPainted = true;
+                StartupTimer.mark("first card painted");
+            }
+            Rectangle cell = getCellBounds(i);
+            rendererPane.paintComponent(g, renderer, this, cell.x, cell.y, cell.width, cell.height, true);
+        }
+        rendererPane.removeAll();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        int rows = getRowCount();
+        return new Dimension(COLUMNS * cellWidth + GAP * (COLUMNS - 1),
+                Math.max(0, rows * getRowHeight() - GAP));
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return 16;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+
+    private void repaintFrom(int index) {
+        // Cells after an insert or removal shift by one, everything before it is untouched
+        Rectangle cell = getCellBounds(index);
+        repaint(0, cell.y, getWidth(), Math.max(0, getHeight() - cell.y) + getRowHeight());
+    }
+
+    private void setHoverIndex(int index) {
+        if (index == hoverIndex) {
+            return;
+        }
+        if (hoverIndex >= 0 && hoverIndex < recipes.size()) {
+            repaint(getCellBounds(hoverIndex));
+        }
+        hoverIndex = index;
+        if (index >= 0) {
+            repaint(getCellBounds(index));
+        }
+    }
+}
\ No newline at end of file
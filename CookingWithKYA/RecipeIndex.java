@@ -0,0 +1,206 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Recipe Index - inverted index from each word to the IDs of the recipes containing it
+public class RecipeIndex implements RecipeIndexer {
+    // Fields are scored separately so a word in the title counts for more than one in the notes
+    private static final int TITLE = 0;
+    private static final int INGREDIENTS = 1;
+    private static final int INSTRUCTIONS = 2;
+    private static final int OTHER = 3;
+    private static final double[] FIELD_BOOSTS = {3.0, 2.0, 1.0, 0.5};
+    // BM25 term-frequency saturation and length normalization
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Word -> recipe ID -> how often the word appears in each field
+    private final Map<String, Map<Integer, int[]>> postings = new HashMap<>();
+    // Words indexed per recipe, so an edit or delete can undo exactly what was added
+    private final Map<Integer, Set<String>> termsByRecipe = new HashMap<>();
+    private final Map<Integer, int[]> fieldLengths = new HashMap<>();
+    private final long[] totalFieldLengths = new long[FIELD_BOOSTS.length];
+    // Typo lookup over the same dictionary; distance is capped with -Dkya.fuzzyMaxDistance
+    private final SymmetricDeleteIndex fuzzyTerms =
+            new SymmetricDeleteIndex(Integer.getInteger("kya.fuzzyMaxDistance", 2));
+
+    @Override
+    public void add(Recipe recipe) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        int[] lengths = new int[FIELD_BOOSTS.length];
+        count(frequencies, lengths, TITLE, recipe.getTitle());
+        for (Ingredient ing : recipe.getIngredients()) {
+            count(frequencies, lengths, INGREDIENTS, ing.getName());
+        }
+        count(frequencies, lengths, INSTRUCTIONS, recipe.getInstructions());
+        count(frequencies, lengths, OTHER, recipe.getCategory());
+        count(frequencies, lengths, OTHER, recipe.getPersonalNotes());
+
+        termsByRecipe.put(recipe.getId(), frequencies.keySet());
+        fieldLengths.put(recipe.getId(), lengths);
+        for (int field = 0; field < lengths.length; field++) {
+            totalFieldLengths[field] += lengths[field];
+        }
+        for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), t -> {
+                fuzzyTerms.addWord(t);
+                return new HashMap<>();
+            }).put(recipe.getId(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void remove(Recipe recipe) {
+        Set<String> terms = termsByRecipe.remove(recipe.getId());
+        if (terms == null) {
+            return;
+        }
+        int[] lengths = fieldLengths.remove(recipe.getId());
+        for (int field = 0; field < lengths.length; field++) {
+            totalFieldLengths[field] -= lengths[field];
+        }
+        for (String term : terms) {
+            Map<Integer, int[]> ids = postings.get(term);
+            ids.remove(recipe.getId());
+            if (ids.isEmpty()) {
+                postings.remove(term);
+                fuzzyTerms.removeWord(term);
+            }
+        }
+    }
+
+    @Override
+    public void update(Recipe recipe) {
+        remove(recipe);
+        add(recipe);
+    }
+
+    @Override
+    public void pricesChanged(Recipe recipe) {
+        // Postings and field lengths come from text only
+    }
+
+    // IDs of recipes containing every term; walks the shortest posting list and probes the others
+    public Set<Integer> matchAll(List<String> terms) {
+        if (terms.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<Set<Integer>> lists = new ArrayList<>();
+        for (String term : new HashSet<>(terms)) {
+            Map<Integer, int[]> ids = postings.get(term);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            lists.add(ids.keySet());
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Integer> result = new HashSet<>();
+        for (Integer id : lists.get(0)) {
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) {
+                inAll = lists.get(i).contains(id);
+            }
+            if (inAll) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    // IDs of recipes containing at least one term
+    public Set<Integer> matchAny(List<String> terms) {
+        Set<Integer> result = new HashSet<>();
+        for (String term : terms) {
+            Map<Integer, int[]> ids = postings.get(term);
+            if (ids != null) {
+                result.addAll(ids.keySet());
+            }
+        }
+        return result;
+    }
+
+    // One page of the recipes containing any term, best BM25F score first (ties in catalog order).
+    // Only offset + limit candidates are ever kept in order, however many recipes match
+    public SearchPage<Integer> rank(List<String> terms, int offset, int limit) {
+        Map<Integer, double[]> scores = new HashMap<>();
+        int recipeCount = fieldLengths.size();
+        for (String term : new LinkedHashSet<>(terms)) {
+            Map<Integer, int[]> ids = postings.get(term);
+            if (ids == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (recipeCount - ids.size() + 0.5) / (ids.size() + 0.5));
+            for (Map.Entry<Integer, int[]> posting : ids.entrySet()) {
+                double tf = weightedFrequency(posting.getValue(), fieldLengths.get(posting.getKey()), recipeCount);
+                scores.computeIfAbsent(posting.getKey(), id -> new double[1])[0] += idf * tf / (K1 + tf);
+            }
+        }
+
+        int wanted = (int) Math.min(Integer.MAX_VALUE, (long) Math.max(0, offset) + Math.max(0, limit));
+        Comparator<Map.Entry<Integer, double[]>> better = Comparator
+                .<Map.Entry<Integer, double[]>>comparingDouble(e -> -e.getValue()[0])
+                .thenComparing(Map.Entry::getKey);
+        TopK<Map.Entry<Integer, double[]>> top = new TopK<>(better, wanted);
+        for (Map.Entry<Integer, double[]> entry : scores.entrySet()) {
+            top.offer(entry);
+        }
+
+        List<Map.Entry<Integer, double[]>> ordered = top.toSortedList();
+        List<Integer> page = new ArrayList<>();
+        for (int i = Math.max(0, offset); i < ordered.size(); i++) {
+            page.add(ordered.get(i).getKey());
+        }
+        return new SearchPage<>(page, Math.max(0, offset), scores.size());
+    }
+
+    // Indexed words within maxDistance edits of word, with their distance
+    public Map<String, Integer> similarTerms(String word, int maxDistance) {
+        return fuzzyTerms.lookup(word, maxDistance);
+    }
+
+    public Set<Integer> getPostings(String term) {
+        Map<Integer, int[]> ids = postings.get(term);
+        return ids == null ? Collections.emptySet() : Collections.unmodifiableSet(ids.keySet());
+    }
+
+    public boolean containsTerm(int recipeId, String term) {
+        Set<String> terms = termsByRecipe.get(recipeId);
+        return terms != null && terms.contains(term);
+    }
+
+    public int getDocumentFrequency(String term) {
+        Map<Integer, int[]> ids = postings.get(term);
+        return ids == null ? 0 : ids.size();
+    }
+
+    public int getTermCount() {
+        return postings.size();
+    }
+
+    // Boosted term frequency summed over fields, each normalized against that field's average length
+    private double weightedFrequency(int[] frequencies, int[] lengths, int recipeCount) {
+        double tf = 0;
+        for (int field = 0; field < frequencies.length; field++) {
+            if (frequencies[field] == 0) {
+                continue;
+            }
+            double averageLength = (double) totalFieldLengths[field] / recipeCount;
+            tf += FIELD_BOOSTS[field] * frequencies[field] / (1 - B + B * lengths[field] / averageLength);
+        }
+        return tf;
+    }
+
+    private static void count(Map<String, int[]> frequencies, int[] lengths, int field, String text) {
+        for (String term : SearchText.tokenize(text)) {
+            frequencies.computeIfAbsent(term, t -> new int[FIELD_BOOSTS.length])[field]++;
+            lengths[field]++;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+// Abstraction - a structure RecipeManager keeps in step with every add, edit and delete
+public interface RecipeIndexer {
+    void add(Recipe recipe);
+
+    void update(Recipe recipe);
+
+    void remove(Recipe recipe);
+
+    // Only ingredient prices changed, names and text did not; indexes that never look at prices can skip it
+    default void pricesChanged(Recipe recipe) {
+        update(recipe);
+    }
+}
\ No newline at end of file
@@ -1,4 +1,5 @@
 import java.util.List;
+import java.util.Set;
 
 // Abstraction - Interface
 public interface RecipeInterface {
@@ -8,7 +9,13 @@ public interface RecipeInterface {
 
     double computeTotalCost();
 
+    long computeTotalCostCentavos();
+
     double computeRemainingCost(List<String> availableIngredients);
 
+    double computeRemainingCost(Set<Ingredient> availableIngredients);
+
+    long computeRemainingCostCentavos(Set<Ingredient> availableIngredients);
+
     String displayRecipe();
 }
\ No newline at end of file
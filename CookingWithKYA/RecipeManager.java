@@ -1,12 +1,70 @@
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
-// Recipe Manager
+// Recipe Manager - mutations happen on the EDT, searches may also run on the search thread. Lookups and searches
+// share a read lock, so the EDT's own reads (suggestions, getRecipe) never wait for a search; only mutations
+// take the write lock
 public class RecipeManager {
+    private enum ChangeType { ADDED, UPDATED, REMOVED }
+    // Ranked matches cached per query, five Search tab pages
+    private static final int RANKED_PREFIX = 100;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
     private List<Recipe> recipes;
+    private final Map<Integer, Recipe> recipesById = new HashMap<>();
+    private final RecipeIndex wordIndex = new RecipeIndex();
+    private final TrigramIndex substringIndex = new TrigramIndex();
+    private final SuggestionTrie suggestions = new SuggestionTrie();
+    private final FacetIndex facets = new FacetIndex();
+    private final SortedRecipeIndex sortedIndex = new SortedRecipeIndex();
+    private final IngredientDictionary ingredientDictionary = new IngredientDictionary();
+    private final PantryMatcher pantryMatcher = new PantryMatcher(ingredientDictionary);
+    private final PriceCatalog priceCatalog = new PriceCatalog(ingredientDictionary);
+    private final CostColumns costColumns = new CostColumns(ingredientDictionary,
+            Integer.getInteger("kya.parallelAggregateRows", 100000));
+    private final List<RecipeIndexer> indexers = new ArrayList<>();
+    // Recent searchRanked and searchRecipes results, sized with -Dkya.searchCacheSize
+    private final SearchCache searchCache = new SearchCache(Integer.getInteger("kya.searchCacheSize", 256));
+    // Catalogs at least this big are scanned in parallel, set with -Dkya.parallelScanThreshold
+    private final RecipeScanner scanner = new RecipeScanner(Integer.getInteger("kya.parallelScanThreshold", 20000));
+    private int nextId;
+    private final List<RecipeChangeListener> listeners = new ArrayList<>();
+    // Changes recorded since the last notification, in the order they happened
+    private final Map<Recipe, ChangeType> pendingChanges = new LinkedHashMap<>();
+    // Recipes whose ingredient prices changed in the current batch; re-indexed once when it ends
+    private final Set<Recipe> repricedRecipes = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Consumer<Recipe> priceListener = this::ingredientPricesChanged;
+    private int batchDepth;
 
     public RecipeManager() {
         recipes = new ArrayList<>();
+        // First, so the catalog's market prices are on the lines before anything else indexes them
+        indexers.add(priceCatalog);
+        indexers.add(wordIndex);
+        indexers.add(substringIndex);
+        indexers.add(suggestions);
+        indexers.add(facets);
+        indexers.add(sortedIndex);
+        indexers.add(pantryMatcher);
+        indexers.add(costColumns);
+        indexers.add(scanner);
         initializeDefaultRecipes();
     }
 
@@ -25,7 +83,7 @@ public class RecipeManager {
                 "4. Remove chicken and reduce sauce until thickened.\n" +
                 "5. Pour sauce over chicken and serve with rice.");
         adobo.setPersonalNotes("Add a tablespoon of sugar for a sweeter version. Can use pork instead of chicken.");
-        recipes.add(adobo);
+        addRecipe(adobo);
 
         // 2. Lumpia - Put lumpia.jpg in the same folder
         AppetizerRecipe lumpia = new AppetizerRecipe("Lumpia Shanghai", "With sweet chili sauce", "images/lumpia.jpg");
@@ -42,7 +100,7 @@ public class RecipeManager {
                 "4. Deep fry until golden brown.\n" +
                 "5. Serve hot with sweet chili sauce.");
         lumpia.setPersonalNotes("Make sure oil is hot enough before frying. Can be frozen for later use.");
-        recipes.add(lumpia);
+        addRecipe(lumpia);
 
         // 3. Sinigang - Put sinigang.jpg in the same folder
         MainDishRecipe sinigang = new MainDishRecipe("Sinigang na Baboy", 6, "images/sinigang.jpg");
@@ -60,7 +118,7 @@ public class RecipeManager {
                 "5. Add kangkong and turn off heat.\n" +
                 "6. Serve hot with rice.");
         sinigang.setPersonalNotes("Can use fresh tamarind instead of mix for more authentic taste.");
-        recipes.add(sinigang);
+        addRecipe(sinigang);
 
         // 4. Pancit Canton - Put pancit.jpg in the same folder
         MainDishRecipe pancit = new MainDishRecipe("Pancit Canton", 5, "images/pancit.jpg");
@@ -78,7 +136,7 @@ public class RecipeManager {
                 "5. Cook for 3-5 minutes, stirring constantly.\n" +
                 "6. Serve with calamansi.");
         pancit.setPersonalNotes("Don't overcook the noodles. Add more vegetables as desired.");
-        recipes.add(pancit);
+        addRecipe(pancit);
 
         // 5. Halo-Halo - Put halohalo.jpg in the same folder
         DessertRecipe halohalo = new DessertRecipe("Halo-Halo", "Medium Sweet", "images/halohalo.jpg");
@@ -98,7 +156,7 @@ public class RecipeManager {
                 "5. Mix well before eating (halo means 'mix').");
         halohalo.setPersonalNotes(
                 "Chill all ingredients before assembling. Can customize toppings based on preference.");
-        recipes.add(halohalo);
+        addRecipe(halohalo);
 
         // 6. Lechon Kawali - Put lechon.jpg in the same folder
         MainDishRecipe lechon = new MainDishRecipe("Lechon Kawali", 4, "images/lechon.jpg");
@@ -115,30 +173,493 @@ public class RecipeManager {
                 "5. Chop into serving pieces.\n" +
                 "6. Serve with lechon sauce or liver sauce.");
         lechon.setPersonalNotes("Make sure pork is completely dry before frying for extra crispy skin.");
-        recipes.add(lechon);
+        addRecipe(lechon);
     }
 
+    // A typed price that differs from the market price becomes the new market price, repricing the other
+    // recipes in the same event
     public void addRecipe(Recipe recipe) {
-        recipes.add(recipe);
+        write(() -> runBatch(() -> {
+            recipe.setId(nextId++);
+            recipes.add(recipe);
+            recipesById.put(recipe.getId(), recipe);
+            for (RecipeIndexer indexer : indexers) {
+                indexer.add(recipe);
+            }
+            // Only now: catalog prices applied while indexing are already part of every index
+            recipe.setPriceListener(priceListener);
+            searchCache.invalidate(recipe.getId());
+            recordChange(recipe, ChangeType.ADDED);
+        }));
     }
 
     public void deleteRecipe(Recipe recipe) {
-        recipes.remove(recipe);
+        write(() -> {
+            if (recipesById.get(recipe.getId()) == recipe && recipes.remove(recipe)) {
+                recipesById.remove(recipe.getId());
+                recipe.setPriceListener(null);
+                for (RecipeIndexer indexer : indexers) {
+                    indexer.remove(recipe);
+                }
+                searchCache.invalidate(recipe.getId());
+                recordChange(recipe, ChangeType.REMOVED);
+            }
+        });
+    }
+
+    // Recipes are edited in place, so callers report the edit once they are done. Prices are handled as in
+    // addRecipe
+    public void updateRecipe(Recipe recipe) {
+        write(() -> runBatch(() -> {
+            if (recipesById.get(recipe.getId()) == recipe) {
+                recipe.setPriceListener(null);
+                for (RecipeIndexer indexer : indexers) {
+                    indexer.update(recipe);
+                }
+                recipe.setPriceListener(priceListener);
+                searchCache.invalidate(recipe.getId());
+                recordChange(recipe, ChangeType.UPDATED);
+            }
+        }));
+    }
+
+    public Recipe getRecipe(int id) {
+        return read(() -> recipesById.get(id));
+    }
+
+    public void addRecipeChangeListener(RecipeChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeRecipeChangeListener(RecipeChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Mutations between beginBatch and the matching endBatch are delivered as a single event
+    public void beginBatch() {
+        write(() -> {
+            batchDepth++;
+        });
+    }
+
+    public void endBatch() {
+        write(() -> {
+            if (batchDepth == 0) {
+                throw new IllegalStateException("endBatch() without beginBatch()");
+            }
+            if (batchDepth == 1) {
+                // Still inside the batch, so these join its event
+                applyRepricing();
+            }
+            batchDepth--;
+            if (batchDepth == 0) {
+                fireChanges();
+            }
+        });
+    }
+
+    public void runBatch(Runnable work) {
+        beginBatch();
+        try {
+            work.run();
+        } finally {
+            endBatch();
+        }
+    }
+
+    // An ingredient of a catalog recipe changed price, directly or through the price catalog. A recipe can see
+    // several of these in a row, so the price-dependent indexes catch up once, when the batch ends
+    private void ingredientPricesChanged(Recipe recipe) {
+        if (lock.isWriteLockedByCurrentThread() && batchDepth > 0) {
+            // The common case, called from inside repriceIngredients: nothing to lock or flush yet
+            repricedRecipes.add(recipe);
+            return;
+        }
+        write(() -> {
+            repricedRecipes.add(recipe);
+            if (batchDepth == 0) {
+                runBatch(() -> { });
+            }
+        });
+    }
+
+    private void applyRepricing() {
+        for (Recipe recipe : repricedRecipes) {
+            if (recipesById.get(recipe.getId()) == recipe) {
+                for (RecipeIndexer indexer : indexers) {
+                    indexer.pricesChanged(recipe);
+                }
+                recordChange(recipe, ChangeType.UPDATED);
+            }
+        }
+        repricedRecipes.clear();
+    }
+
+    private void recordChange(Recipe recipe, ChangeType type) {
+        ChangeType previous = pendingChanges.get(recipe);
+        if (previous == ChangeType.ADDED && type == ChangeType.REMOVED) {
+            // Added and removed within the same batch: listeners never need to hear about it
+            pendingChanges.remove(recipe);
+        } else if (previous == ChangeType.REMOVED && type == ChangeType.ADDED) {
+            pendingChanges.put(recipe, ChangeType.UPDATED);
+        } else if (previous == null || type == ChangeType.REMOVED) {
+            pendingChanges.put(recipe, type);
+        }
+        if (batchDepth == 0) {
+            fireChanges();
+        }
+    }
+
+    private void fireChanges() {
+        if (pendingChanges.isEmpty()) {
+            return;
+        }
+        List<Recipe> added = new ArrayList<>();
+        List<Recipe> updated = new ArrayList<>();
+        List<Recipe> removed = new ArrayList<>();
+        for (Map.Entry<Recipe, ChangeType> entry : pendingChanges.entrySet()) {
+            switch (entry.getValue()) {
+                case ADDED:
+                    added.add(entry.getKey());
+                    break;
+                case UPDATED:
+                    updated.add(entry.getKey());
+                    break;
+                default:
+                    removed.add(entry.getKey());
+                    break;
+            }
+        }
+        pendingChanges.clear();
+
+        RecipeChangeEvent event = new RecipeChangeEvent(this, added, updated, removed);
+        for (RecipeChangeListener listener : new ArrayList<>(listeners)) {
+            listener.recipesChanged(event);
+        }
     }
 
     public List<Recipe> getAllRecipes() {
-        return new ArrayList<>(recipes);
+        return read(() -> new ArrayList<>(recipes));
     }
 
+    // Substring search over titles, categories and ingredient names
     public List<Recipe> searchRecipes(String keyword) {
-        List<Recipe> results = new ArrayList<>();
-        String lowerKeyword = keyword.toLowerCase();
-        for (Recipe recipe : recipes) {
-            if (recipe.getTitle().toLowerCase().contains(lowerKeyword) ||
-                    recipe.getCategory().toLowerCase().contains(lowerKeyword)) {
-                results.add(recipe);
+        return read(() -> {
+            String needle = SearchText.normalize(keyword);
+            String key = "contains:" + needle;
+            int[] ids = searchCache.get(key);
+            if (ids == null) {
+                ids = sortedIds(substringIndex.search(keyword));
+                searchCache.put(key, ids, id -> substringIndex.matches(id, needle));
+            }
+            return toRecipes(ids);
+        });
+    }
+
+    // Whole-word search over title, category, ingredients, instructions and notes;
+    // matchAll requires every word (AND), otherwise any word is enough (OR)
+    public List<Recipe> searchRecipes(String query, boolean matchAll) {
+        return read(() -> {
+            Set<String> terms = new TreeSet<>(SearchText.tokenize(query));
+            String key = (matchAll ? "all:" : "any:") + String.join(" ", terms);
+            int[] ids = searchCache.get(key);
+            if (ids == null) {
+                List<String> termList = new ArrayList<>(terms);
+                ids = sortedIds(matchAll ? wordIndex.matchAll(termList) : wordIndex.matchAny(termList));
+                searchCache.put(key, ids, id -> matchAll && !terms.isEmpty()
+                        ? terms.stream().allMatch(term -> wordIndex.containsTerm(id, term))
+                        : terms.stream().anyMatch(term -> wordIndex.containsTerm(id, term)));
+            }
+            return toRecipes(ids);
+        });
+    }
+
+    // Substring search over every text field, instructions and notes included. Nothing indexes those for
+    // substrings, so this scans the catalog; results come back in catalog order. The scan reads snapshots,
+    // so only taking them needs the lock
+    public List<Recipe> searchFullText(String keyword) {
+        return scanner.scan(read(scanner::snapshot), keyword);
+    }
+
+    // Relevance-ranked word search: recipes matching any word, best first, one page at a time
+    // The cache keeps the top of each ranking, so "Show more" pages come from the same entry
+    public SearchPage<Recipe> searchRanked(String query, int offset, int limit) {
+        return read(() -> {
+            Set<String> terms = new TreeSet<>(SearchText.tokenize(query));
+            String key = "ranked:" + String.join(" ", terms);
+            int start = Math.max(0, offset);
+            int wanted = (int) Math.min(Integer.MAX_VALUE, (long) start + Math.max(0, limit));
+            SearchPage<Integer> ranking = searchCache.getRanked(key, wanted);
+            if (ranking == null) {
+                int keep = (int) Math.min(Integer.MAX_VALUE, Math.max(RANKED_PREFIX, 2L * wanted));
+                ranking = wordIndex.rank(new ArrayList<>(terms), 0, keep);
+                searchCache.putRanked(key, ranking);
+            }
+            List<Integer> ids = ranking.getItems();
+            List<Recipe> page = new ArrayList<>();
+            for (int i = start, end = Math.min(ids.size(), wanted); i < end; i++) {
+                page.add(recipesById.get(ids.get(i)));
+            }
+            return new SearchPage<>(page, start, ranking.getTotalMatches());
+        });
+    }
+
+    // Typo-tolerant word search: every query word has to be within maxDistance edits of a word in the recipe.
+    // Recipes needing fewer edits come first, so exact matches rank above close ones
+    public List<Recipe> searchRecipesFuzzy(String query, int maxDistance) {
+        return read(() -> {
+            Map<Integer, Integer> totals = null;
+            for (String term : new LinkedHashSet<>(SearchText.tokenize(query))) {
+                // Very short words have too many neighbours to be useful
+                int allowed = term.length() <= 2 ? 0 : term.length() <= 4 ? Math.min(1, maxDistance) : maxDistance;
+                Map<Integer, Integer> best = new HashMap<>();
+                for (Map.Entry<String, Integer> match : wordIndex.similarTerms(term, allowed).entrySet()) {
+                    checkCancelled();
+                    for (Integer id : wordIndex.getPostings(match.getKey())) {
+                        best.merge(id, match.getValue(), Math::min);
+                    }
+                }
+                if (totals == null) {
+                    totals = best;
+                } else {
+                    totals.keySet().retainAll(best.keySet());
+                    totals.replaceAll((id, total) -> total + best.get(id));
+                }
+                if (totals.isEmpty()) {
+                    break;
+                }
+            }
+            if (totals == null) {
+                return new ArrayList<>();
+            }
+
+            Map<Integer, Integer> distances = totals;
+            List<Integer> ids = new ArrayList<>(distances.keySet());
+            ids.sort(Comparator.<Integer>comparingInt(distances::get).thenComparing(Comparator.naturalOrder()));
+            List<Recipe> results = new ArrayList<>(ids.size());
+            for (Integer id : ids) {
+                results.add(recipesById.get(id));
+            }
+            return results;
+        });
+    }
+
+    // Type-ahead completions from titles, ingredient names and categories, most used first
+    public List<String> suggest(String prefix, int limit) {
+        return read(() -> suggestions.suggest(prefix, limit));
+    }
+
+    // Recipes passing the facet filters (facet name -> accepted values), in catalog order
+    public List<Recipe> filterRecipes(Map<String, Set<String>> selection) {
+        return filterRecipes(selection, null, false);
+    }
+
+    // Recipes passing the facet filters in the given order (null for catalog order). Recipes the order has
+    // no value for, like servings on a dessert, come last in catalog order
+    public List<Recipe> filterRecipes(Map<String, Set<String>> selection, SortedRecipeIndex.SortKey order,
+            boolean descending) {
+        return read(() -> {
+            BitSet ids = facets.filter(selection);
+            List<Recipe> results = new ArrayList<>(ids.cardinality());
+            if (order != null) {
+                for (Recipe recipe : sortedIndex.top(order, descending, Integer.MAX_VALUE)) {
+                    if (ids.get(recipe.getId())) {
+                        results.add(recipe);
+                        ids.clear(recipe.getId());
+                    }
+                }
+            }
+            for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+                results.add(recipesById.get(id));
+            }
+            return results;
+        });
+    }
+
+    // Recipes costing between min and max (inclusive), cheapest first
+    public List<Recipe> findByCost(double min, double max, int limit) {
+        return findByCostCentavos(Money.ofPesos(min), Money.ofPesos(max), limit);
+    }
+
+    public List<Recipe> findByCostCentavos(long min, long max, int limit) {
+        return read(() -> sortedIndex.range(SortedRecipeIndex.SortKey.COST, min, max, limit));
+    }
+
+    // Main dishes serving between min and max people (inclusive), fewest servings first
+    public List<Recipe> findByServings(int min, int max, int limit) {
+        return read(() -> sortedIndex.range(SortedRecipeIndex.SortKey.SERVINGS, min, max, limit));
+    }
+
+    // The first limit recipes by cost, title or servings; descending gives the most expensive, Z-A or largest
+    public List<Recipe> topRecipes(SortedRecipeIndex.SortKey order, boolean descending, int limit) {
+        return read(() -> sortedIndex.top(order, descending, limit));
+    }
+
+    public List<String> getFacetNames() {
+        return read(() -> facets.getFacetNames());
+    }
+
+    // Value -> number of recipes it would match, given the selections on the other facets
+    public Map<String, Integer> countFacet(String facet, Map<String, Set<String>> selection) {
+        return read(() -> facets.counts(facet, selection));
+    }
+
+    public String getFacetLabel(String facet, String value) {
+        return read(() -> facets.getLabel(facet, value));
+    }
+
+    // The limit recipes closest to cookable with the given ingredient names, in the given order
+    public List<PantryMatch> rankByPantry(Collection<String> pantry, PantryMatcher.Order order, int limit) {
+        return read(() -> pantryMatcher.rank(pantryMatcher.toPantry(pantry), order, limit));
+    }
+
+    // Every ingredient name some recipe uses, alphabetically
+    public List<String> getIngredientNames() {
+        return read(() -> pantryMatcher.getIngredientNames());
+    }
+
+    // Market price of an ingredient in centavos, or -1 if it was never set through the price catalog
+    public long getIngredientPrice(String ingredientName) {
+        return read(() -> {
+            int id = ingredientDictionary.lookup(ingredientName);
+            return id < 0 ? -1 : priceCatalog.getPrice(id);
+        });
+    }
+
+    // Ingredients whose price in the recipe differs from their market price; saving the recipe makes those
+    // prices the market prices
+    public List<String> findMarketPriceChanges(Recipe recipe) {
+        return read(() -> {
+            List<String> names = new ArrayList<>();
+            for (Ingredient ing : recipe.getIngredients()) {
+                int id = ingredientDictionary.lookup(ing.getName());
+                long price = id < 0 ? -1 : priceCatalog.getPrice(id);
+                if (price >= 0 && price != ing.getPriceCentavos() && !names.contains(ing.getName())) {
+                    names.add(ing.getName());
+                }
+            }
+            return names;
+        });
+    }
+
+    public int setIngredientPrice(String ingredientName, long centavos) {
+        return setIngredientPrices(Collections.singletonMap(ingredientName, centavos));
+    }
+
+    // Sets market prices by ingredient name; see repriceIngredients
+    public int setIngredientPrices(Map<String, Long> centavosByName) {
+        Map<Integer, Long> centavosById = new HashMap<>();
+        for (Map.Entry<String, Long> entry : centavosByName.entrySet()) {
+            int id = ingredientDictionary.intern(entry.getKey());
+            if (id >= 0) {
+                centavosById.put(id, entry.getValue());
             }
         }
+        return repriceIngredients(centavosById);
+    }
+
+    // Applies market prices (ingredient ID -> centavos) to every recipe using those ingredients. Only recipes
+    // whose total moved are re-indexed, only by the price-dependent indexes, and listeners get one event.
+    // Returns how many recipes changed
+    public int repriceIngredients(Map<Integer, Long> centavosById) {
+        return write(() -> {
+            beginBatch();
+            try {
+                int before = repricedRecipes.size();
+                for (Map.Entry<Integer, Long> entry : centavosById.entrySet()) {
+                    // Each repriced line reports back through ingredientPricesChanged
+                    priceCatalog.setPrice(entry.getKey(), entry.getValue());
+                }
+                return repricedRecipes.size() - before;
+            } finally {
+                endBatch();
+            }
+        });
+    }
+
+    // Sum of every recipe's total cost, in centavos
+    public long getCatalogCostCentavos() {
+        return read(() -> costColumns.totalCostCentavos());
+    }
+
+    // Category -> average recipe cost in centavos
+    public Map<String, Long> getAverageCostByCategory() {
+        return read(() -> costColumns.averageCostByCategory());
+    }
+
+    // What one ingredient adds up to across the catalog, in centavos; 0 if no recipe uses it
+    public long getCatalogCostOf(String ingredientName) {
+        return read(() -> {
+            int id = ingredientDictionary.lookup(ingredientName);
+            return id < 0 ? 0 : costColumns.totalCostOf(id);
+        });
+    }
+
+    public IngredientDictionary getIngredientDictionary() {
+        return ingredientDictionary;
+    }
+
+    // Hit rate and size of the cache in front of searchRanked and searchRecipes, for tuning
+    public SearchCache getSearchCache() {
+        return searchCache;
+    }
+
+    // A search thread interrupted while waiting for the lock gives up instead of running a cancelled query
+    private <T> T read(Supplier<T> query) {
+        try {
+            lock.readLock().lockInterruptibly();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Search cancelled");
+        }
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Listeners are notified while the write lock is held; they may read and mutate, but never from another
+    // thread they wait on
+    private <T> T write(Supplier<T> mutation) {
+        lock.writeLock().lock();
+        try {
+            return mutation.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(Runnable mutation) {
+        write(() -> {
+            mutation.run();
+            return null;
+        });
+    }
+
+    // Long searches call this between steps; SearchPanel cancels a superseded search by interrupting its thread
+    static void checkCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Search cancelled");
+        }
+    }
+
+    // IDs grow with every add, so sorting them gives catalog order
+    private static int[] sortedIds(Set<Integer> ids) {
+        int[] sorted = new int[ids.size()];
+        int i = 0;
+        for (Integer id : ids) {
+            sorted[i++] = id;
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private List<Recipe> toRecipes(int[] ids) {
+        List<Recipe> results = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            results.add(recipesById.get(id));
+        }
         return results;
     }
 }
\ No newline at end of file
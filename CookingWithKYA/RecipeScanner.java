@@ -0,0 +1,172 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Recipe Scanner - brute-force substring search over every text field, for text no index covers.
+// Big catalogs are split into shards and scanned on the fork/join pool
+public class RecipeScanner implements RecipeIndexer {
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+    // Copies of each recipe's text taken when it was indexed, in catalog order (an update keeps its place).
+    // Scans read these instead of the live recipes, which the EDT edits in place
+    private final Map<Integer, Snapshot> snapshots = new LinkedHashMap<>();
+    // Snapshots as a list for sharding; rebuilt after a change, shared by scans until the next one
+    private List<Snapshot> ordered;
+
+    public RecipeScanner(int parallelThreshold) {
+        this(ForkJoinPool.commonPool(), parallelThreshold);
+    }
+
+    public RecipeScanner(ForkJoinPool pool, int parallelThreshold) {
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    @Override
+    public synchronized void add(Recipe recipe) {
+        snapshots.put(recipe.getId(), new Snapshot(recipe));
+        ordered = null;
+    }
+
+    @Override
+    public synchronized void update(Recipe recipe) {
+        snapshots.put(recipe.getId(), new Snapshot(recipe));
+        ordered = null;
+    }
+
+    @Override
+    public synchronized void remove(Recipe recipe) {
+        if (snapshots.remove(recipe.getId()) != null) {
+            ordered = null;
+        }
+    }
+
+    @Override
+    public void pricesChanged(Recipe recipe) {
+        // Only text is scanned
+    }
+
+    // The current catalog as immutable snapshots; cheap to take under the manager's lock, and safe to scan
+    // after releasing it
+    public synchronized List<Snapshot> snapshot() {
+        if (ordered == null) {
+            ordered = Collections.unmodifiableList(new ArrayList<>(snapshots.values()));
+        }
+        return ordered;
+    }
+
+    // Recipes with a title, category, ingredient name, instructions or notes containing the query
+    // (ignoring case), in the order they appear in the list. Interrupting the calling thread stops the scan,
+    // pool workers included, with a CancellationException
+    public List<Recipe> scan(List<Snapshot> recipes, String query) {
+        String needle = query == null ? "" : query;
+        Thread caller = Thread.currentThread();
+        if (recipes.size() < parallelThreshold || pool.getParallelism() < 2) {
+            return new Shard(recipes, needle, caller, 0, recipes.size(), recipes.size()).compute();
+        }
+        // A few shards per worker so an unlucky shard full of long instructions doesn't hold everyone up
+        int shardSize = Math.max(1024, recipes.size() / (pool.getParallelism() * 4));
+        return pool.invoke(new Shard(recipes, needle, caller, 0, recipes.size(), shardSize));
+    }
+
+    // Compares in place instead of lower-casing a copy of every field
+    private static boolean containsIgnoreCase(String text, String needle) {
+        if (text == null) {
+            return false;
+        }
+        if (needle.isEmpty()) {
+            return true;
+        }
+        char lower = Character.toLowerCase(needle.charAt(0));
+        char upper = Character.toUpperCase(needle.charAt(0));
+        for (int i = 0; i <= text.length() - needle.length(); i++) {
+            char c = text.charAt(i);
+            if ((c == lower || c == upper) && text.regionMatches(true, i, needle, 0, needle.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Title, category, instructions, notes and ingredient names of one recipe as they were when indexed
+    public static final class Snapshot {
+        private final Recipe recipe;
+        private final String[] fields;
+
+        private Snapshot(Recipe recipe) {
+            List<Ingredient> ingredients = recipe.getIngredients();
+            this.recipe = recipe;
+            this.fields = new String[4 + ingredients.size()];
+            fields[0] = recipe.getTitle();
+            fields[1] = recipe.getCategory();
+            fields[2] = recipe.getInstructions();
+            fields[3] = recipe.getPersonalNotes();
+            for (int i = 0; i < ingredients.size(); i++) {
+                fields[4 + i] = ingredients.get(i).getName();
+            }
+        }
+
+        private boolean matches(String needle) {
+            for (String field : fields) {
+                if (containsIgnoreCase(field, needle)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Shard extends RecursiveTask<List<Recipe>> {
+        private final List<Snapshot> recipes;
+        private final String needle;
+        // Thread that asked for the scan; workers poll its interrupt flag
+        private final Thread caller;
+        private final int from;
+        private final int to;
+        private final int shardSize;
+
+        private Shard(List<Snapshot> recipes, String needle, Thread caller, int from, int to, int shardSize) {
+            this.recipes = recipes;
+            this.needle = needle;
+            this.caller = caller;
+            this.from = from;
+            this.to = to;
+            this.shardSize = shardSize;
+        }
+
+        @Override
+        protected List<Recipe> compute() {
+            if (to - from <= shardSize) {
+                List<Recipe> found = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    if ((i & 255) == 0 && caller.isInterrupted()) {
+                        throw new CancellationException("Scan cancelled");
+                    }
+                    Snapshot snapshot = recipes.get(i);
+                    if (snapshot.matches(needle)) {
+                        found.add(snapshot.recipe);
+                    }
+                }
+                return found;
+            }
+            int middle = (from + to) >>> 1;
+            Shard left = new Shard(recipes, needle, caller, from, middle, shardSize);
+            Shard right = new Shard(recipes, needle, caller, middle, to, shardSize);
+            left.fork();
+            List<Recipe> found = right.compute();
+            // Left half first, so the merged list keeps catalog order
+            List<Recipe> merged = left.join();
+            merged.addAll(found);
+            return merged;
+        }
+    }
+}
\ No newline at end of file
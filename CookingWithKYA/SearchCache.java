@@ -0,0 +1,145 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+// Search Cache - LRU of recent queries and the recipe IDs they matched, dropped only when a change could affect them
+public class SearchCache {
+    private final LruMap<String, Entry> entries = new LruMap<>(64);
+    private int maxEntries;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public SearchCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    // Matching recipe IDs in ascending order, or null when the query is not cached
+    public synchronized int[] get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hits++;
+            return entry.ids;
+        }
+        misses++;
+        return null;
+    }
+
+    // ids must be sorted; matches tells whether a recipe, as currently indexed, belongs in the result
+    public synchronized void put(String key, int[] ids, IntPredicate matches) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        entries.put(key, new Entry(ids, matches, ids.length));
+        evictToSize();
+    }
+
+    // The start of a cached ranking, or null when the query is not cached or fewer than wanted of its
+    // matches were kept
+    public synchronized SearchPage<Integer> getRanked(String key, int wanted) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.matches == null &&
+                (entry.ids.length >= wanted || entry.ids.length == entry.totalMatches)) {
+            hits++;
+            List<Integer> ids = new ArrayList<>(entry.ids.length);
+            for (int id : entry.ids) {
+                ids.add(id);
+            }
+            return new SearchPage<>(ids, 0, entry.totalMatches);
+        }
+        misses++;
+        return null;
+    }
+
+    // A ranking from offset 0, best first. Scores depend on catalog-wide statistics (recipe count, average
+    // field lengths), so unlike the other entries it is dropped on any change
+    public synchronized void putRanked(String key, SearchPage<Integer> ranking) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        int[] ids = new int[ranking.getItems().size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = ranking.getItems().get(i);
+        }
+        entries.put(key, new Entry(ids, null, ranking.getTotalMatches()));
+        evictToSize();
+    }
+
+    // Called after a recipe was added, edited or deleted: drops every result it was in or would be in now
+    public synchronized void invalidate(int recipeId) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.matches == null || Arrays.binarySearch(entry.ids, recipeId) >= 0 ||
+                    entry.matches.test(recipeId)) {
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+        evictToSize();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    public synchronized long getInvalidationCount() {
+        return invalidations;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "SearchCache[entries=" + entries.size() + "/" + maxEntries + ", hits=" + hits + ", misses=" + misses +
+                ", hitRate=" + String.format("%.1f%%", getHitRate() * 100) + ", evictions=" + evictions +
+                ", invalidations=" + invalidations + "]";
+    }
+
+    private void evictToSize() {
+        evictions += entries.evictWhile(() -> entries.size() > Math.max(0, maxEntries), entry -> { });
+    }
+
+    private static final class Entry {
+        private final int[] ids;
+        // Null for a ranking
+        private final IntPredicate matches;
+        private final int totalMatches;
+
+        private Entry(int[] ids, IntPredicate matches, int totalMatches) {
+            this.ids = ids;
+            this.matches = matches;
+            this.totalMatches = totalMatches;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+import java.util.Collections;
+import java.util.List;
+
+// Search Page - one slice of a ranked result list, plus how many results there are in total
+public class SearchPage<T> {
+    private final List<T> items;
+    private final int offset;
+    private final int totalMatches;
+
+    public SearchPage(List<T> items, int offset, int totalMatches) {
+        this.items = Collections.unmodifiableList(items);
+        this.offset = offset;
+        this.totalMatches = totalMatches;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getTotalMatches() {
+        return totalMatches;
+    }
+
+    public boolean hasMore() {
+        return offset + items.size() < totalMatches;
+    }
+}
\ No newline at end of file
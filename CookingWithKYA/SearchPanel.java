@@ -1,16 +1,53 @@
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
 
 public class SearchPanel extends JPanel {
+    // Ranked results are fetched a page at a time; "Show more" asks for the next one
+    private static final int PAGE_SIZE = 20;
+    // Pause in typing before a live search runs, tunable with -Dkya.searchDelayMillis
+    private static final int LIVE_SEARCH_DELAY = Integer.getInteger("kya.searchDelayMillis", 250);
+    // One background thread, so a newer query simply queues behind (or cancels) the older one
+    private static final ExecutorService SEARCHER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "kya-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private RecipeManager manager;
     private JTextField searchField;
-    private JPanel cardsContainer;
+    private RecipeGrid recipeGrid;
     private JTextArea detailsArea;
+    private ViewportImagePrefetcher imagePrefetcher;
+    private JPopupMenu suggestionPopup;
+    private DefaultListModel<String> suggestionModel;
+    private JList<String> suggestionList;
+    private boolean applyingSuggestion;
+    private JButton moreButton;
+    private String rankedQuery;
+    private JCheckBox liveSearchBox;
+    private Timer liveSearchTimer;
+    private Future<?> pendingSearch;
+    // Bumped by every search; results from an older one are dropped when they arrive
+    private int searchGeneration;
 
     public SearchPanel(RecipeManager manager) {
         this.manager = manager;
         initializeUI();
+        manager.addRecipeChangeListener(this::recipesChanged);
     }
 
     private void initializeUI() {
@@ -27,9 +64,23 @@ public class SearchPanel extends JPanel {
         searchPanel.add(searchField);
         searchPanel.add(searchButton);
 
-        cardsContainer = new JPanel();
-        cardsContainer.setLayout(new GridLayout(0, 2, 15, 15));
-        cardsContainer.setBackground(Color.WHITE);
+        liveSearchBox = new JCheckBox("Search as you type", true);
+        liveSearchBox.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        searchPanel.add(liveSearchBox);
+        liveSearchTimer = new Timer(LIVE_SEARCH_DELAY, e -> startSearch(searchField.getText()));
+        liveSearchTimer.setRepeats(false);
+        // A search already counting down would otherwise still fire after live search is switched off
+        liveSearchBox.addActionListener(e -> {
+            if (!liveSearchBox.isSelected()) {
+                liveSearchTimer.stop();
+            }
+        });
+
+        recipeGrid = new RecipeGrid();
+        recipeGrid.setSelectionListener(recipe -> {
+            detailsArea.setText(recipe.displayRecipe() + "\n\nTotal Cost: " +
+                    Money.format(recipe.computeTotalCostCentavos()));
+        });
 
         detailsArea = new JTextArea();
         detailsArea.setEditable(false);
@@ -38,42 +89,259 @@ public class SearchPanel extends JPanel {
 
         searchButton.addActionListener(e -> performSearch());
 
-        // Allow Enter key to search
-        searchField.addActionListener(e -> performSearch());
+        // Allow Enter key to search, or to pick the highlighted suggestion
+        searchField.addActionListener(e -> {
+            if (suggestionPopup.isVisible() && suggestionList.getSelectedIndex() >= 0) {
+                acceptSuggestion();
+            } else {
+                performSearch();
+            }
+        });
+        initializeSuggestions();
 
-        JScrollPane cardsScroll = new JScrollPane(cardsContainer);
+        JScrollPane cardsScroll = new JScrollPane(recipeGrid);
         cardsScroll.setPreferredSize(new Dimension(500, 0));
         cardsScroll.getVerticalScrollBar().setUnitIncrement(16);
+        imagePrefetcher = new ViewportImagePrefetcher(cardsScroll, recipeGrid);
+
+        moreButton = createStyledButton("Show more");
+        moreButton.setVisible(false);
+        moreButton.addActionListener(e -> showMoreResults());
+        JPanel resultsPanel = new JPanel(new BorderLayout(5, 5));
+        resultsPanel.add(cardsScroll, BorderLayout.CENTER);
+        resultsPanel.add(moreButton, BorderLayout.SOUTH);
 
         JSplitPane splitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT,
-                cardsScroll, new JScrollPane(detailsArea));
+                resultsPanel, new JScrollPane(detailsArea));
         splitPane.setDividerLocation(500);
 
         add(searchPanel, BorderLayout.NORTH);
         add(splitPane, BorderLayout.CENTER);
     }
 
+    private void initializeSuggestions() {
+        suggestionModel = new DefaultListModel<>();
+        suggestionList = new JList<>(suggestionModel);
+        suggestionList.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        suggestionList.setFocusable(false);
+        suggestionList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        suggestionList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                acceptSuggestion();
+            }
+        });
+
+        // The popup must never take focus away from the search field
+        suggestionPopup = new JPopupMenu();
+        suggestionPopup.setFocusable(false);
+        suggestionPopup.setLayout(new BorderLayout());
+        suggestionPopup.add(suggestionList, BorderLayout.CENTER);
+
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                textChanged();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                textChanged();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+
+        searchField.getInputMap().put(KeyStroke.getKeyStroke("DOWN"), "nextSuggestion");
+        searchField.getInputMap().put(KeyStroke.getKeyStroke("UP"), "previousSuggestion");
+        searchField.getInputMap().put(KeyStroke.getKeyStroke("ESCAPE"), "hideSuggestions");
+        searchField.getActionMap().put("nextSuggestion", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                moveSuggestionSelection(1);
+            }
+        });
+        searchField.getActionMap().put("previousSuggestion", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                moveSuggestionSelection(-1);
+            }
+        });
+        searchField.getActionMap().put("hideSuggestions", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                suggestionPopup.setVisible(false);
+            }
+        });
+    }
+
+    private void textChanged() {
+        // Picking a suggestion rewrites the field, which should not pop the list up again
+        if (!applyingSuggestion) {
+            SwingUtilities.invokeLater(this::updateSuggestions);
+            // Every keystroke pushes the live search back, so it only runs once typing pauses
+            if (liveSearchBox.isSelected()) {
+                liveSearchTimer.restart();
+            }
+        }
+    }
+
+    private void updateSuggestions() {
+        if (!searchField.isShowing()) {
+            return;
+        }
+        List<String> suggestions = manager.suggest(searchField.getText(), 8);
+        suggestionModel.clear();
+        for (String suggestion : suggestions) {
+            suggestionModel.addElement(suggestion);
+        }
+        if (suggestions.isEmpty()) {
+            suggestionPopup.setVisible(false);
+            return;
+        }
+        suggestionList.setVisibleRowCount(suggestions.size());
+        suggestionPopup.setPopupSize(searchField.getWidth(), suggestionList.getPreferredSize().height + 4);
+        if (!suggestionPopup.isVisible()) {
+            suggestionPopup.show(searchField, 0, searchField.getHeight());
+        } else {
+            suggestionPopup.pack();
+        }
+    }
+
+    private void moveSuggestionSelection(int delta) {
+        if (!suggestionPopup.isVisible() || suggestionModel.isEmpty()) {
+            return;
+        }
+        int index = suggestionList.getSelectedIndex() + delta;
+        index = Math.max(0, Math.min(suggestionModel.size() - 1, index));
+        suggestionList.setSelectedIndex(index);
+        suggestionList.ensureIndexIsVisible(index);
+    }
+
+    private void acceptSuggestion() {
+        String suggestion = suggestionList.getSelectedValue();
+        suggestionPopup.setVisible(false);
+        if (suggestion != null) {
+            applyingSuggestion = true;
+            searchField.setText(suggestion);
+            applyingSuggestion = false;
+            performSearch();
+        }
+    }
+
     private void performSearch() {
-        cardsContainer.removeAll();
-        List<Recipe> results = manager.searchRecipes(searchField.getText());
+        suggestionPopup.setVisible(false);
+        liveSearchTimer.stop();
+        startSearch(searchField.getText());
+    }
+
+    private void startSearch(String query) {
+        submit(() -> runSearch(query), this::showResults);
+    }
+
+    // Runs on the search thread: ranked words first, then substrings (indexed fields, then a full scan),
+    // then spellings within two edits. A cancelled search stops before the next step
+    private SearchResults runSearch(String query) {
+        SearchPage<Recipe> page = manager.searchRanked(query, 0, PAGE_SIZE);
+        if (page.getTotalMatches() > 0) {
+            return new SearchResults(query, page.getItems(), page.hasMore(), "Found " + page.getTotalMatches() +
+                    " recipe(s), best matches first. Click a recipe card to view details.");
+        }
+
+        // No whole word matched, so look for the text inside words ("sini", "canto")
+        RecipeManager.checkCancelled();
+        List<Recipe> results = manager.searchRecipes(query);
+        if (!results.isEmpty()) {
+            return new SearchResults(null, results, false,
+                    "Found " + results.size() + " recipe(s). Click a recipe card to view details.");
+        }
+
+        // Last exact try: the text may only appear in instructions or notes, which takes a full scan
+        RecipeManager.checkCancelled();
+        results = manager.searchFullText(query);
+        if (!results.isEmpty()) {
+            return new SearchResults(null, results, false, "Found " + results.size() +
+                    " recipe(s) mentioning '" + query + "'. Click a recipe card to view details.");
+        }
 
+        // Nothing contains the text as typed, so try spellings within two edits
+        RecipeManager.checkCancelled();
+        results = manager.searchRecipesFuzzy(query, 2);
         if (results.isEmpty()) {
-            detailsArea.setText("No recipes found matching '" + searchField.getText() + "'");
-        } else {
-            detailsArea.setText("Found " + results.size() + " recipe(s). Click a recipe card to view details.");
-            for (Recipe recipe : results) {
-                RecipeCardPanel card = new RecipeCardPanel(recipe,
-                        () -> {
-                            detailsArea.setText(recipe.displayRecipe() + "\n\nTotal Cost: ₱" +
-                                    String.format("%.2f", recipe.computeTotalCost()));
-                        },
-                        () -> {
-                        });
-                cardsContainer.add(card);
-            }
+            return new SearchResults(null, results, false, "No recipes found matching '" + query + "'");
+        }
+        return new SearchResults(null, results, false, "No exact matches for '" + query + "'. Showing " +
+                results.size() + " close match(es). Click a recipe card to view details.");
+    }
+
+    private void showResults(SearchResults results) {
+        detailsArea.setText(results.message);
+        rankedQuery = results.rankedQuery;
+        moreButton.setVisible(results.hasMore);
+        recipeGrid.setRecipes(current(results.recipes));
+        imagePrefetcher.scheduleUpdate();
+    }
+
+    private void showMoreResults() {
+        if (rankedQuery == null) {
+            return;
         }
-        cardsContainer.revalidate();
-        cardsContainer.repaint();
+        String query = rankedQuery;
+        int offset = recipeGrid.getRecipeCount();
+        submit(() -> manager.searchRanked(query, offset, PAGE_SIZE), page -> {
+            recipeGrid.addRecipes(current(page.getItems()));
+            moreButton.setVisible(page.hasMore());
+            imagePrefetcher.scheduleUpdate();
+        });
+    }
+
+    // Runs work on the search thread and hands its result to the EDT, unless a newer search has started since
+    private <T> void submit(Callable<T> work, Consumer<T> onDone) {
+        if (pendingSearch != null) {
+            pendingSearch.cancel(true);
+        }
+        int generation = ++searchGeneration;
+        FutureTask<T> task = new FutureTask<T>(work) {
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    T result = get();
+                    SwingUtilities.invokeLater(() -> {
+                        if (generation == searchGeneration) {
+                            pendingSearch = null;
+                            onDone.accept(result);
+                        }
+                    });
+                } catch (InterruptedException | ExecutionException e) {
+                    SwingUtilities.invokeLater(() -> {
+                        if (generation == searchGeneration) {
+                            pendingSearch = null;
+                            detailsArea.setText("Search failed: " + e.getCause());
+                        }
+                    });
+                }
+            }
+        };
+        pendingSearch = task;
+        SEARCHER.execute(task);
+    }
+
+    // A recipe deleted while the query was running must not come back with its results
+    private List<Recipe> current(List<Recipe> recipes) {
+        List<Recipe> present = new ArrayList<>(recipes);
+        present.removeIf(recipe -> manager.getRecipe(recipe.getId()) != recipe);
+        return present;
+    }
+
+    // Results stay as they are until the next search, but deleted recipes disappear and edits show up
+    private void recipesChanged(RecipeChangeEvent event) {
+        recipeGrid.removeRecipes(event.getRemoved());
+        recipeGrid.recipesChanged(event.getUpdated());
     }
 
     private JTextField createStyledTextField() {
@@ -90,4 +358,19 @@ public class SearchPanel extends JPanel {
         button.setPreferredSize(new Dimension(150, 35));
         return button;
     }
+
+    private static final class SearchResults {
+        // Set when the results are a ranked page that "Show more" can continue
+        private final String rankedQuery;
+        private final List<Recipe> recipes;
+        private final boolean hasMore;
+        private final String message;
+
+        private SearchResults(String rankedQuery, List<Recipe> recipes, boolean hasMore, String message) {
+            this.rankedQuery = rankedQuery;
+            this.recipes = recipes;
+            this.hasMore = hasMore;
+            this.message = message;
+        }
+    }
 }
\ No newline at end of file
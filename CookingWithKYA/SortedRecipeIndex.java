@@ -0,0 +1,122 @@
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+// Sorted Recipe Index - recipes kept ordered by total cost, title and servings, for range and top-N queries
+public class SortedRecipeIndex implements RecipeIndexer {
+    public enum SortKey { COST, TITLE, SERVINGS }
+
+    private final Map<SortKey, TreeSet<Entry>> orders = new EnumMap<>(SortKey.class);
+    // Entries as they were indexed; a recipe's cost may already have changed by the time it is removed
+    private final Map<Integer, Map<SortKey, Entry>> entriesByRecipe = new HashMap<>();
+
+    public SortedRecipeIndex() {
+        for (SortKey key : SortKey.values()) {
+            orders.put(key, new TreeSet<>());
+        }
+    }
+
+    @Override
+    public void add(Recipe recipe) {
+        Map<SortKey, Entry> entries = new EnumMap<>(SortKey.class);
+        entries.put(SortKey.COST, new Entry(recipe.computeTotalCostCentavos(), recipe));
+        entries.put(SortKey.TITLE, new Entry(SearchText.normalize(recipe.getTitle()), recipe));
+        // Only main dishes say how many they serve
+        if (recipe instanceof MainDishRecipe) {
+            entries.put(SortKey.SERVINGS, new Entry(((MainDishRecipe) recipe).getServings(), recipe));
+        }
+        entriesByRecipe.put(recipe.getId(), entries);
+        for (Map.Entry<SortKey, Entry> entry : entries.entrySet()) {
+            orders.get(entry.getKey()).add(entry.getValue());
+        }
+    }
+
+    @Override
+    public void update(Recipe recipe) {
+        remove(recipe);
+        add(recipe);
+    }
+
+    @Override
+    public void remove(Recipe recipe) {
+        Map<SortKey, Entry> entries = entriesByRecipe.remove(recipe.getId());
+        if (entries == null) {
+            return;
+        }
+        for (Map.Entry<SortKey, Entry> entry : entries.entrySet()) {
+            orders.get(entry.getKey()).remove(entry.getValue());
+        }
+    }
+
+    @Override
+    public void pricesChanged(Recipe recipe) {
+        // Only the cost position can move
+        Map<SortKey, Entry> entries = entriesByRecipe.get(recipe.getId());
+        if (entries == null) {
+            return;
+        }
+        TreeSet<Entry> byCost = orders.get(SortKey.COST);
+        byCost.remove(entries.get(SortKey.COST));
+        Entry cost = new Entry(recipe.computeTotalCostCentavos(), recipe);
+        entries.put(SortKey.COST, cost);
+        byCost.add(cost);
+    }
+
+    // Recipes whose value lies in [from, to], in order, at most limit of them
+    public <V extends Comparable<V>> List<Recipe> range(SortKey key, V from, V to, int limit) {
+        NavigableSet<Entry> slice = orders.get(key).subSet(new Entry(from, Integer.MIN_VALUE), true,
+                new Entry(to, Integer.MAX_VALUE), true);
+        return take(slice.iterator(), limit);
+    }
+
+    // The first limit recipes in the order, or the last limit when descending
+    public List<Recipe> top(SortKey key, boolean descending, int limit) {
+        TreeSet<Entry> order = orders.get(key);
+        return take(descending ? order.descendingIterator() : order.iterator(), limit);
+    }
+
+    public int size(SortKey key) {
+        return orders.get(key).size();
+    }
+
+    private static List<Recipe> take(Iterator<Entry> it, int limit) {
+        List<Recipe> results = new ArrayList<>();
+        while (it.hasNext() && results.size() < limit) {
+            results.add(it.next().recipe);
+        }
+        return results;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final class Entry implements Comparable<Entry> {
+        private final Comparable value;
+        private final int id;
+        private final Recipe recipe;
+
+        private Entry(Comparable value, Recipe recipe) {
+            this(value, recipe.getId(), recipe);
+        }
+
+        private Entry(Comparable value, int id) {
+            this(value, id, null);
+        }
+
+        private Entry(Comparable value, int id, Recipe recipe) {
+            this.value = value;
+            this.id = id;
+            this.recipe = recipe;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byValue = value.compareTo(other.value);
+            // Ties fall back to the ID, so equal values keep catalog order and never collapse into one entry
+            return byValue != 0 ? byValue : Integer.compare(id, other.id);
+        }
+    }
+}
\ No newline at end of file
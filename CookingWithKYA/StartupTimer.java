@@ -0,0 +1,30 @@
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Startup Timer - milliseconds from JVM start to each startup phase, printed with -Dkya.startupTiming=true
+public class StartupTimer {
+    private static final boolean LOGGING = Boolean.getBoolean("kya.startupTiming");
+    private static final long JVM_START = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private static final Map<String, Long> phases = new LinkedHashMap<>();
+
+    // Only the first time a phase is reached counts
+    public static synchronized void mark(String phase) {
+        if (phases.containsKey(phase)) {
+            return;
+        }
+        long elapsed = System.currentTimeMillis() - JVM_START;
+        phases.put(phase, elapsed);
+        if (LOGGING) {
+            System.out.println("[startup] " + phase + ": " + elapsed + " ms");
+        }
+    }
+
+    public static synchronized boolean isMarked(String phase) {
+        return phases.containsKey(phase);
+    }
+
+    public static synchronized Map<String, Long> getPhases() {
+        return new LinkedHashMap<>(phases);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,180 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// Suggestion Trie - type-ahead over recipe titles, ingredient names and categories, most used first
+public class SuggestionTrie implements RecipeIndexer {
+    private final Node root = new Node();
+    // Normalized phrase -> how many recipes use it, and how to show it
+    private final Map<String, Integer> counts = new HashMap<>();
+    private final Map<String, String> displayNames = new HashMap<>();
+    private final Map<Integer, Set<String>> phrasesByRecipe = new HashMap<>();
+
+    @Override
+    public void add(Recipe recipe) {
+        Map<String, String> phrases = phrasesOf(recipe);
+        phrasesByRecipe.put(recipe.getId(), new HashSet<>(phrases.keySet()));
+        for (Map.Entry<String, String> phrase : phrases.entrySet()) {
+            displayNames.putIfAbsent(phrase.getKey(), phrase.getValue());
+            changeCount(phrase.getKey(), 1);
+        }
+    }
+
+    @Override
+    public void update(Recipe recipe) {
+        remove(recipe);
+        add(recipe);
+    }
+
+    @Override
+    public void remove(Recipe recipe) {
+        Set<String> phrases = phrasesByRecipe.remove(recipe.getId());
+        if (phrases == null) {
+            return;
+        }
+        for (String phrase : phrases) {
+            changeCount(phrase, -1);
+        }
+    }
+
+    @Override
+    public void pricesChanged(Recipe recipe) {
+        // Phrases are ranked by how many recipes use them, not by cost
+    }
+
+    // Up to limit phrases with a word starting with prefix, highest recipe count first
+    public List<String> suggest(String prefix, int limit) {
+        String key = SearchText.normalize(prefix).trim();
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        List<String> results = new ArrayList<>();
+        if (key.isEmpty() || node == null || limit <= 0) {
+            return results;
+        }
+
+        Comparator<String> byCount = Comparator.<String>comparingInt(counts::get).reversed()
+                .thenComparing(Comparator.naturalOrder());
+        // Best-first walk: once the list is full, a subtree whose best count cannot beat the weakest entry is
+        // never entered (ties keep the phrase found first)
+        PriorityQueue<Node> frontier = new PriorityQueue<>((a, b) -> Integer.compare(b.best, a.best));
+        TopK<String> top = new TopK<>(byCount, limit);
+        Set<String> seen = new HashSet<>();
+        frontier.add(node);
+        while (!frontier.isEmpty()) {
+            Node current = frontier.poll();
+            if (top.isFull() && current.best <= counts.get(top.weakest())) {
+                break;
+            }
+            for (String phrase : current.phrases) {
+                if (seen.add(phrase)) {
+                    top.offer(phrase);
+                }
+            }
+            frontier.addAll(current.children.values());
+        }
+
+        results.addAll(top.toSortedList());
+        for (int i = 0; i < results.size(); i++) {
+            results.set(i, displayNames.get(results.get(i)));
+        }
+        return results;
+    }
+
+    private void changeCount(String phrase, int delta) {
+        int count = counts.getOrDefault(phrase, 0) + delta;
+        boolean removed = count <= 0;
+        if (removed) {
+            counts.remove(phrase);
+        } else {
+            counts.put(phrase, count);
+        }
+
+        // The phrase is reachable from the start of each of its words
+        for (int start : wordStarts(phrase)) {
+            String key = phrase.substring(start);
+            List<Node> path = new ArrayList<>(key.length() + 1);
+            Node node = root;
+            path.add(node);
+            for (int i = 0; i < key.length(); i++) {
+                node = removed ? node.children.get(key.charAt(i)) : node.children.computeIfAbsent(key.charAt(i),
+                        c -> new Node());
+                if (node == null) {
+                    break;
+                }
+                path.add(node);
+            }
+            if (node == null) {
+                continue;
+            }
+            if (removed) {
+                node.phrases.remove(phrase);
+            } else {
+                node.phrases.add(phrase);
+            }
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node current = path.get(i);
+                current.recomputeBest(counts);
+                if (i > 0 && current.best == 0 && current.children.isEmpty()) {
+                    path.get(i - 1).children.remove(key.charAt(i - 1));
+                }
+            }
+        }
+        if (removed) {
+            displayNames.remove(phrase);
+        }
+    }
+
+    private static List<Integer> wordStarts(String phrase) {
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < phrase.length(); i++) {
+            if (Character.isLetterOrDigit(phrase.charAt(i)) &&
+                    (i == 0 || !Character.isLetterOrDigit(phrase.charAt(i - 1)))) {
+                starts.add(i);
+            }
+        }
+        return starts;
+    }
+
+    private static Map<String, String> phrasesOf(Recipe recipe) {
+        List<String> names = new ArrayList<>();
+        names.add(recipe.getTitle());
+        names.add(recipe.getCategory());
+        for (Ingredient ing : recipe.getIngredients()) {
+            names.add(ing.getName());
+        }
+
+        Map<String, String> phrases = new HashMap<>();
+        for (String name : names) {
+            if (name != null && !name.trim().isEmpty()) {
+                phrases.putIfAbsent(SearchText.normalize(name.trim()), name.trim());
+            }
+        }
+        return phrases;
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final Set<String> phrases = new LinkedHashSet<>(1);
+        // Highest recipe count of any phrase in this subtree
+        private int best;
+
+        private void recomputeBest(Map<String, Integer> counts) {
+            int max = 0;
+            for (String phrase : phrases) {
+                max = Math.max(max, counts.getOrDefault(phrase, 0));
+            }
+            for (Node child : children.values()) {
+                max = Math.max(max, child.best);
+            }
+            best = max;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// Symmetric Delete Index - finds dictionary words within a small edit distance without comparing against every word
+public class SymmetricDeleteIndex {
+    private final int maxDistance;
+    // Every word with up to maxDistance characters deleted -> the dictionary words it came from
+    private final Map<String, Set<String>> deletes = new HashMap<>();
+
+    public SymmetricDeleteIndex(int maxDistance) {
+        this.maxDistance = maxDistance;
+    }
+
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    public void addWord(String word) {
+        for (String variant : variantsOf(word, maxDistance)) {
+            deletes.computeIfAbsent(variant, v -> new HashSet<>(2)).add(word);
+        }
+    }
+
+    public void removeWord(String word) {
+        for (String variant : variantsOf(word, maxDistance)) {
+            Set<String> words = deletes.get(variant);
+            if (words != null) {
+                words.remove(word);
+                if (words.isEmpty()) {
+                    deletes.remove(variant);
+                }
+            }
+        }
+    }
+
+    // Dictionary words within distance edits of query, with their edit distance
+    public Map<String, Integer> lookup(String query, int distance) {
+        int limit = Math.min(distance, maxDistance);
+        Map<String, Integer> matches = new HashMap<>();
+        // Two words within d edits always share a variant with at most d deletions each
+        for (String variant : variantsOf(query, limit)) {
+            Set<String> words = deletes.get(variant);
+            if (words == null) {
+                continue;
+            }
+            for (String word : words) {
+                if (!matches.containsKey(word)) {
+                    int d = editDistance(query, word, limit);
+                    if (d <= limit) {
+                        matches.put(word, d);
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static Set<String> variantsOf(String word, int distance) {
+        Set<String> variants = new HashSet<>();
+        variants.add(word);
+        Set<String> frontier = variants;
+        for (int d = 0; d < distance; d++) {
+            Set<String> next = new HashSet<>();
+            for (String current : frontier) {
+                for (int i = 0; i < current.length(); i++) {
+                    next.add(current.substring(0, i) + current.substring(i + 1));
+                }
+            }
+            variants.addAll(next);
+            frontier = next;
+        }
+        return variants;
+    }
+
+    // Optimal string alignment distance (adjacent swaps count as one edit); gives up above limit
+    static int editDistance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,183 @@
+import javax.swing.*;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Objects;
+
+// Thumbnail Cache - process-wide LRU of scaled recipe images with a memory budget. Images are held softly,
+// so the garbage collector can still take them back when the heap runs short before the budget is reached
+public class ThumbnailCache {
+    // Budget can be tuned with -Dkya.thumbnailCacheBytes=<bytes>, defaults to 64 MB or an eighth of the heap,
+    // whichever is smaller
+    private static final ThumbnailCache SHARED = new ThumbnailCache(Long.getLong("kya.thumbnailCacheBytes",
+            Math.min(64L * 1024 * 1024, Runtime.getRuntime().maxMemory() / 8)));
+
+    private final LruMap<Key, Entry> entries = new LruMap<>(64);
+    // Entries whose image the garbage collector has released
+    private final ReferenceQueue<ImageIcon> released = new ReferenceQueue<>();
+    private long maxBytes;
+    private long currentBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long releases;
+
+    public ThumbnailCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public static ThumbnailCache getShared() {
+        return SHARED;
+    }
+
+    public synchronized ImageIcon get(Key key) {
+        ImageIcon icon = lookup(key);
+        if (icon != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return icon;
+    }
+
+    // Lookup for callers that load the image themselves on a miss; only a hit is counted here, the miss is
+    // counted once by the get() in that load
+    public synchronized ImageIcon peek(Key key) {
+        ImageIcon icon = lookup(key);
+        if (icon != null) {
+            hits++;
+        }
+        return icon;
+    }
+
+    public synchronized void put(Key key, ImageIcon icon) {
+        purgeReleased();
+        Entry previous = entries.put(key, new Entry(key, icon, released));
+        if (previous != null) {
+            currentBytes -= previous.bytes;
+        }
+        currentBytes += sizeOf(icon);
+        evictToBudget();
+    }
+
+    public synchronized void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+        evictToBudget();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        currentBytes = 0;
+        while (released.poll() != null) {
+            // Already out of the map
+        }
+    }
+
+    public synchronized long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized long getSizeBytes() {
+        purgeReleased();
+        return currentBytes;
+    }
+
+    public synchronized int getEntryCount() {
+        purgeReleased();
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    // Images the garbage collector took back under memory pressure
+    public synchronized long getReleaseCount() {
+        purgeReleased();
+        return releases;
+    }
+
+    @Override
+    public synchronized String toString() {
+        purgeReleased();
+        return "ThumbnailCache[entries=" + entries.size() + ", bytes=" + currentBytes + "/" + maxBytes +
+                ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", released=" + releases + "]";
+    }
+
+    private ImageIcon lookup(Key key) {
+        purgeReleased();
+        Entry entry = entries.get(key);
+        return entry == null ? null : entry.get();
+    }
+
+    // Drops entries whose image was collected, so the byte count only covers images still held
+    private void purgeReleased() {
+        Entry entry;
+        while ((entry = (Entry) released.poll()) != null) {
+            if (entries.get(entry.key) == entry) {
+                entries.remove(entry.key);
+                currentBytes -= entry.bytes;
+                releases++;
+            }
+        }
+    }
+
+    private void evictToBudget() {
+        evictions += entries.evictWhile(() -> currentBytes > maxBytes, entry -> currentBytes -= entry.bytes);
+    }
+
+    private static long sizeOf(ImageIcon icon) {
+        return (long) icon.getIconWidth() * icon.getIconHeight() * 4;
+    }
+
+    private static final class Entry extends SoftReference<ImageIcon> {
+        private final Key key;
+        private final long bytes;
+
+        private Entry(Key key, ImageIcon icon, ReferenceQueue<ImageIcon> queue) {
+            super(icon, queue);
+            this.key = key;
+            this.bytes = sizeOf(icon);
+        }
+    }
+
+    // Cache key - a changed file gets a new lastModified and therefore a new entry
+    public static final class Key {
+        private final String path;
+        private final int width;
+        private final int height;
+        private final long lastModified;
+
+        public Key(String path, int width, int height, long lastModified) {
+            this.path = path;
+            this.width = width;
+            this.height = height;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return width == other.width && height == other.height &&
+                    lastModified == other.lastModified && path.equals(other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, width, height, lastModified);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,168 @@
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+// Thumbnail Store - pre-scaled thumbnails on disk so a restart does not re-decode every photo
+public class ThumbnailStore {
+    private static final int MAGIC = 0x4B594154;
+    private static final String SUFFIX = ".thumb";
+    private static final String TEMP_SUFFIX = ".tmp";
+    // Temp files younger than this may still be in the middle of a write
+    private static final long TEMP_MAX_AGE_MILLIS = 60L * 60 * 1000;
+
+    // Location can be changed with -Dkya.thumbnailDir=<dir>; an empty value disables the store
+    private static final ThumbnailStore SHARED = new ThumbnailStore(System.getProperty("kya.thumbnailDir",
+            System.getProperty("user.home") + File.separator + ".cookingwithkya" + File.separator + "thumbnails"));
+
+    private final File directory;
+
+    public ThumbnailStore(String directory) {
+        this.directory = directory == null || directory.isEmpty() ? null : new File(directory);
+    }
+
+    public static ThumbnailStore getShared() {
+        return SHARED;
+    }
+
+    // Returns the stored thumbnail, or null when there is none or the source photo has changed since
+    public BufferedImage read(File source, int width, int height) {
+        if (directory == null) {
+            return null;
+        }
+        File entry = entryFile(source, width, height);
+        if (!entry.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(entry)))) {
+            Header header = Header.read(in);
+            if (header == null || !header.matches(source, width, height)) {
+                return null;
+            }
+            return ImageIO.read(in);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public void write(File source, int width, int height, BufferedImage image) {
+        if (directory == null || (!directory.isDirectory() && !directory.mkdirs())) {
+            return;
+        }
+        File entry = entryFile(source, width, height);
+        File temp = null;
+        try {
+            // Two grids can decode the same photo at once, so every writer gets its own temp file
+            temp = Files.createTempFile(directory.toPath(), entry.getName() + "-", TEMP_SUFFIX).toFile();
+            boolean written;
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                new Header(source.getAbsolutePath(), source.length(), source.lastModified(), width, height)
+                        .write(out);
+                // Photos compress far better as JPEG; keep PNG for anything with transparency
+                written = ImageIO.write(image, image.getColorModel().hasAlpha() ? "png" : "jpg", out);
+            }
+            // No writer for this image type: the file holds only the header, so don't publish it
+            if (!written) {
+                temp.delete();
+                return;
+            }
+            // Readers never see a half-written entry
+            Files.move(temp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    }
+
+    // Removes entries whose source photo was deleted or changed, on a low-priority background thread
+    public void collectGarbageAsync() {
+        if (directory == null || !directory.isDirectory()) {
+            return;
+        }
+        Thread thread = new Thread(this::collectGarbage, "kya-thumbnail-gc");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    public int collectGarbage() {
+        File[] entries = directory == null ? null : directory.listFiles();
+        if (entries == null) {
+            return 0;
+        }
+        int removed = 0;
+        long now = System.currentTimeMillis();
+        for (File entry : entries) {
+            // Only temp files left behind by a crash; a fresh one belongs to a write still in progress
+            boolean abandoned = entry.getName().endsWith(TEMP_SUFFIX) &&
+                    now - entry.lastModified() > TEMP_MAX_AGE_MILLIS;
+            if (abandoned || (entry.getName().endsWith(SUFFIX) && isStale(entry))) {
+                if (entry.delete()) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    private boolean isStale(File entry) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(entry)))) {
+            Header header = Header.read(in);
+            return header == null || !header.matches(new File(header.path), header.width, header.height);
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private File entryFile(File source, int width, int height) {
+        // The header stores the full path, so a hash collision only costs a re-decode
+        String path = source.getAbsolutePath();
+        return new File(directory, Integer.toHexString(path.hashCode()) + "-" + width + "x" + height + SUFFIX);
+    }
+
+    private static final class Header {
+        private final String path;
+        private final long sourceLength;
+        private final long sourceModified;
+        private final int width;
+        private final int height;
+
+        private Header(String path, long sourceLength, long sourceModified, int width, int height) {
+            this.path = path;
+            this.sourceLength = sourceLength;
+            this.sourceModified = sourceModified;
+            this.width = width;
+            this.height = height;
+        }
+
+        private static Header read(DataInputStream in) throws IOException {
+            if (in.readInt() != MAGIC) {
+                return null;
+            }
+            String path = in.readUTF();
+            long sourceLength = in.readLong();
+            long sourceModified = in.readLong();
+            int width = in.readInt();
+            int height = in.readInt();
+            return new Header(path, sourceLength, sourceModified, width, height);
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            out.writeInt(MAGIC);
+            out.writeUTF(path);
+            out.writeLong(sourceLength);
+            out.writeLong(sourceModified);
+            out.writeInt(width);
+            out.writeInt(height);
+        }
+
+        private boolean matches(File source, int width, int height) {
+            return this.width == width && this.height == height &&
+                    path.equals(source.getAbsolutePath()) && source.isFile() &&
+                    sourceLength == source.length() && sourceModified == source.lastModified();
+        }
+    }
+}
\ No newline at end of file
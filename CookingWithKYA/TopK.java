@@ -0,0 +1,53 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Top K - keeps the best limit items offered to it, in a heap whose head is the weakest of them, so a
+// candidate that can't make the list costs one comparison
+public class TopK<T> {
+    private final Comparator<? super T> better;
+    private final int limit;
+    private final PriorityQueue<T> heap;
+
+    // better orders best first
+    public TopK(Comparator<? super T> better, int limit) {
+        this.better = better;
+        this.limit = Math.max(0, limit);
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(this.limit, 1024)), better.reversed());
+    }
+
+    // Keeps item if the list has room or it beats the weakest kept item; returns whether it was kept
+    public boolean offer(T item) {
+        if (heap.size() < limit) {
+            heap.add(item);
+            return true;
+        }
+        if (limit > 0 && better.compare(item, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(item);
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isFull() {
+        return heap.size() == limit;
+    }
+
+    // The item the next better one would replace; null while the list is empty
+    public T weakest() {
+        return heap.peek();
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    // Kept items, best first
+    public List<T> toSortedList() {
+        List<T> sorted = new ArrayList<>(heap);
+        sorted.sort(better);
+        return sorted;
+    }
+}
\ No newline at end of file
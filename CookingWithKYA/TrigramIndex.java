@@ -0,0 +1,124 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Trigram Index - answers "contains" queries on titles, categories and ingredient names without scanning every recipe
+public class TrigramIndex implements RecipeIndexer {
+    private final Map<Long, Set<Integer>> postings = new HashMap<>();
+    // Normalized searchable fields per recipe, used to verify candidates and to undo postings
+    private final Map<Integer, String[]> fieldsByRecipe = new HashMap<>();
+
+    @Override
+    public void add(Recipe recipe) {
+        String[] fields = fieldsOf(recipe);
+        fieldsByRecipe.put(recipe.getId(), fields);
+        for (Long trigram : trigramsOf(fields)) {
+            postings.computeIfAbsent(trigram, t -> new HashSet<>()).add(recipe.getId());
+        }
+    }
+
+    @Override
+    public void update(Recipe recipe) {
+        remove(recipe);
+        add(recipe);
+    }
+
+    @Override
+    public void remove(Recipe recipe) {
+        String[] fields = fieldsByRecipe.remove(recipe.getId());
+        if (fields == null) {
+            return;
+        }
+        for (Long trigram : trigramsOf(fields)) {
+            Set<Integer> ids = postings.get(trigram);
+            ids.remove(recipe.getId());
+            if (ids.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    @Override
+    public void pricesChanged(Recipe recipe) {
+        // Trigrams cover titles, categories and ingredient names, never prices
+    }
+
+    // IDs of recipes with a field containing the query; posting lists only narrow down the candidates,
+    // each candidate is then checked with a real substring match
+    public Set<Integer> search(String query) {
+        String needle = SearchText.normalize(query);
+        if (needle.length() < 3) {
+            // Too short for a trigram, so every recipe is a candidate
+            return verify(fieldsByRecipe.keySet(), needle);
+        }
+
+        List<Set<Integer>> lists = new ArrayList<>();
+        for (Long trigram : trigramsOf(new String[] { needle })) {
+            Set<Integer> ids = postings.get(trigram);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Integer> candidates = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(lists.get(i));
+        }
+        return verify(candidates, needle);
+    }
+
+    // Whether an indexed recipe has a field containing an already normalized query
+    public boolean matches(int recipeId, String needle) {
+        String[] fields = fieldsByRecipe.get(recipeId);
+        if (fields != null) {
+            for (String field : fields) {
+                if (field.contains(needle)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Set<Integer> verify(Set<Integer> candidates, String needle) {
+        Set<Integer> result = new HashSet<>();
+        for (Integer id : candidates) {
+            for (String field : fieldsByRecipe.get(id)) {
+                if (field.contains(needle)) {
+                    result.add(id);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String[] fieldsOf(Recipe recipe) {
+        List<Ingredient> ingredients = recipe.getIngredients();
+        String[] fields = new String[2 + ingredients.size()];
+        fields[0] = SearchText.normalize(recipe.getTitle());
+        fields[1] = SearchText.normalize(recipe.getCategory());
+        for (int i = 0; i < ingredients.size(); i++) {
+            fields[2 + i] = SearchText.normalize(ingredients.get(i).getName());
+        }
+        return fields;
+    }
+
+    // Trigrams never span two fields, so a match is always inside a single field
+    private static Set<Long> trigramsOf(String[] fields) {
+        Set<Long> trigrams = new HashSet<>();
+        for (String field : fields) {
+            for (int i = 0; i + 3 <= field.length(); i++) {
+                trigrams.add(((long) field.charAt(i) << 32) | ((long) field.charAt(i + 1) << 16) | field.charAt(i + 2));
+            }
+        }
+        return trigrams;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+import javax.swing.*;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import java.awt.*;
+
+// Viewport Image Prefetcher - loads grid images only when their rows are on or near the visible part of a scroll pane
+public class ViewportImagePrefetcher implements ChangeListener {
+    private final JViewport viewport;
+    private final RecipeGrid grid;
+    private int lookAheadRows;
+    private boolean updateScheduled;
+
+    public ViewportImagePrefetcher(JScrollPane scrollPane, RecipeGrid grid) {
+        // Rows above and below the viewport to prefetch, tunable with -Dkya.prefetchRows
+        this(scrollPane, grid, Integer.getInteger("kya.prefetchRows", 2));
+    }
+
+    public ViewportImagePrefetcher(JScrollPane scrollPane, RecipeGrid grid, int lookAheadRows) {
+        this.viewport = scrollPane.getViewport();
+        this.grid = grid;
+        this.lookAheadRows = lookAheadRows;
+        viewport.addChangeListener(this);
+    }
+
+    public int getLookAheadRows() {
+        return lookAheadRows;
+    }
+
+    public void setLookAheadRows(int lookAheadRows) {
+        this.lookAheadRows = Math.max(0, lookAheadRows);
+        scheduleUpdate();
+    }
+
+    @Override
+    public void stateChanged(ChangeEvent e) {
+        scheduleUpdate();
+    }
+
+    // Coalesces bursts of scroll and resize events into one pass after layout has settled
+    public void scheduleUpdate() {
+        if (updateScheduled) {
+            return;
+        }
+        updateScheduled = true;
+        SwingUtilities.invokeLater(() -> {
+            updateScheduled = false;
+            update();
+        });
+    }
+
+    private void update() {
+        Rectangle view = viewport.getViewRect();
+        if (grid.getRowCount() == 0 || view.height == 0) {
+            grid.releaseImagesOutside(0, 0);
+            return;
+        }
+        int columns = grid.getColumnCount();
+        int firstRow = grid.rowAtY(view.y);
+        int lastRow = grid.rowAtY(view.y + view.height);
+
+        // Visible rows go to the loader queue first, then the look-ahead rows
+        grid.requestImages(firstRow * columns, (lastRow + 1) * columns);
+        grid.requestImages((firstRow - lookAheadRows) * columns, (lastRow + 1 + lookAheadRows) * columns);
+        // Keep a band of hysteresis so rows near the edge don't flip between loaded and released
+        grid.releaseImagesOutside((firstRow - 2 * lookAheadRows) * columns,
+                (lastRow + 1 + 2 * lookAheadRows) * columns);
+    }
+}
\ No newline at end of file